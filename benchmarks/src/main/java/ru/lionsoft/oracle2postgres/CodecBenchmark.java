@@ -0,0 +1,180 @@
+/*
+ * File:    CodecBenchmark.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:52:58 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Value codecs: NUMBER as BigDecimal (ColumnCodec) and as raw Oracle bytes (OracleCodecs),
+ * DATE as LocalDateTime (ColumnCodec) and as raw Oracle bytes, to CSV text and binary COPY.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    // =================== Constants ====================
+
+    private static final int VALUES = 1000; // values per operation
+
+    // =================== Fields ====================
+
+    private final ColumnCodec decimalCodec = new ColumnCodec.DecimalCodec();
+    private final ColumnCodec numberCodec = new OracleCodecs.NumberCodec();
+    private final ColumnCodec timestampCodec = new ColumnCodec.TimestampCodec();
+    private final ColumnCodec dateCodec = new OracleCodecs.DateCodec();
+    private final BigDecimal[] decimals = new BigDecimal[VALUES];
+    private final OracleCodecs.RawNumber[] numbers = new OracleCodecs.RawNumber[VALUES];
+    private final LocalDateTime[] timestamps = new LocalDateTime[VALUES];
+    private final byte[][] dates = new byte[VALUES][];
+    private final StringBuilder line = new StringBuilder(64 * VALUES);
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * VALUES);
+    private final DataOutputStream out = new DataOutputStream(buffer);
+
+    // =================== Bussiness Methods ====================
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < VALUES; i++) {
+            BigDecimal val = BigDecimal.valueOf(random.nextLong() % 100000000000L, random.nextInt(5));
+            decimals[i] = val;
+            numbers[i] = new OracleCodecs.RawNumber(oracleNumber(val));
+            LocalDateTime time = LocalDateTime.ofEpochSecond(946684800L + random.nextInt(800000000), 0, ZoneOffset.UTC);
+            timestamps[i] = time;
+            dates[i] = oracleDate(time);
+        }
+    }
+
+    // Oracle NUMBER: exponent byte and base 100 digits (negative: complement and terminator 102)
+    private static byte[] oracleNumber(BigDecimal val) {
+        if (val.signum() == 0) return new byte[] { (byte) 0x80 };
+        String str = val.abs().stripTrailingZeros().toPlainString();
+        int point = str.indexOf('.');
+        String intPart = point < 0 ? str : str.substring(0, point);
+        String fracPart = point < 0 ? "" : str.substring(point + 1);
+        if (intPart.equals("0")) intPart = "";
+        if (intPart.length() % 2 == 1) intPart = "0" + intPart;
+        if (fracPart.length() % 2 == 1) fracPart = fracPart + "0";
+        String digits = intPart + fracPart;
+        int power = intPart.length() / 2 - 1;
+        int first = 0;
+        while (digits.startsWith("00", first)) {
+            first += 2;
+            power--;
+        }
+        int last = digits.length();
+        while (last > first && digits.startsWith("00", last - 2)) last -= 2;
+        boolean negative = val.signum() < 0;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(negative ? 62 - power : power + 193);
+        for (int i = first; i < last; i += 2) {
+            int d = Integer.parseInt(digits.substring(i, i + 2));
+            bytes.write(negative ? 101 - d : d + 1);
+        }
+        if (negative && (last - first) / 2 < 20) bytes.write(102);
+        return bytes.toByteArray();
+    }
+
+    // Oracle DATE: century, year, month, day, hour, minute, second (excess notation)
+    private static byte[] oracleDate(LocalDateTime time) {
+        return new byte[] {
+            (byte) (time.getYear() / 100 + 100), (byte) (time.getYear() % 100 + 100),
+            (byte) time.getMonthValue(), (byte) time.getDayOfMonth(),
+            (byte) (time.getHour() + 1), (byte) (time.getMinute() + 1), (byte) (time.getSecond() + 1)
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int decimalCsv() throws IOException {
+        line.setLength(0);
+        for (BigDecimal val : decimals) decimalCodec.writeCsv(val, line, out);
+        return line.length();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int oracleNumberCsv() throws IOException {
+        line.setLength(0);
+        for (OracleCodecs.RawNumber val : numbers) numberCodec.writeCsv(val, line, out);
+        return line.length();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int decimalBinary() throws IOException {
+        buffer.reset();
+        for (BigDecimal val : decimals) decimalCodec.writeBinary(val, out);
+        return buffer.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int oracleNumberBinary() throws IOException {
+        buffer.reset();
+        for (OracleCodecs.RawNumber val : numbers) numberCodec.writeBinary(val, out);
+        return buffer.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int timestampCsv() throws IOException {
+        line.setLength(0);
+        for (LocalDateTime val : timestamps) timestampCodec.writeCsv(val, line, out);
+        return line.length();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int oracleDateCsv() throws IOException {
+        line.setLength(0);
+        for (byte[] val : dates) dateCodec.writeCsv(val, line, out);
+        return line.length();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int timestampBinary() throws IOException {
+        buffer.reset();
+        for (LocalDateTime val : timestamps) timestampCodec.writeBinary(val, out);
+        return buffer.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int oracleDateBinary() throws IOException {
+        buffer.reset();
+        for (byte[] val : dates) dateCodec.writeBinary(val, out);
+        return buffer.size();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * File:    CopyEncoderBenchmark.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:52:58 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Row encoding of copy transfer (readRow and writeRow of encoder, as in transferWithCopyManager):
+ * rows per second by column mix and number of columns (as synthetic source),
+ * COPY format and part of null values.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CopyEncoderBenchmark {
+
+    // =================== Constants ====================
+
+    private static final int ROWS = 1000; // rows per operation
+
+    // =================== Fields ====================
+
+    @Param({ "numeric", "text", "mixed" })
+    private String mix;
+
+    @Param({ "4", "24" })
+    private int columns;
+
+    @Param({ "csv", "binary" })
+    private String format;
+
+    @Param({ "0.0", "0.2" })
+    private double nullRatio;
+
+    private ResultSet rs;
+    private CopyEncoder encoder;
+    private Object[] row;
+    private ByteArrayOutputStream buffer;
+    private DataOutputStream out;
+
+    // =================== Bussiness Methods ====================
+
+    @Setup
+    public void setup() throws SQLException {
+        List<MetadataCatalog.ColumnInfo> table = SyntheticResultSet.columns(mix, columns);
+        rs = SyntheticResultSet.create(table, Long.MAX_VALUE, nullRatio, 42);
+        encoder = format.equals("binary")
+                ? new BinaryCopyEncoder(rs.getMetaData(), SyntheticResultSet.targetMetaData(table))
+                : new CsvCopyEncoder(rs.getMetaData());
+        row = new Object[table.size()];
+        buffer = new ByteArrayOutputStream(4 * 1024 * 1024);
+        out = new DataOutputStream(buffer);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int encodeRows() throws SQLException, IOException {
+        buffer.reset();
+        encoder.writeHeader(out);
+        for (int i = 0; i < ROWS; i++) {
+            rs.next();
+            encoder.readRow(rs, row);
+            encoder.writeRow(row, out);
+        }
+        encoder.writeTrailer(out);
+        return buffer.size();
+    }
+}
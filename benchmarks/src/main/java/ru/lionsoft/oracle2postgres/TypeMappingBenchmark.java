@@ -0,0 +1,81 @@
+/*
+ * File:    TypeMappingBenchmark.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:52:58 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * DDL hot paths: Oracle to PostgreSQL type mapping and padding of column names.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeMappingBenchmark {
+
+    // =================== Constants ====================
+
+    // data_type, data_length, data_scale, data_precision of typical columns
+    private static final Object[][] COLUMNS = {
+        { "NUMBER", "22", 0, 10 },
+        { "NUMBER", "22", 0, 4 },
+        { "NUMBER", "22", 2, 14 },
+        { "NUMBER", "22", 0, 0 },
+        { "VARCHAR2", "100", 0, 0 },
+        { "NVARCHAR2", "2000", 0, 0 },
+        { "CHAR", "1", 0, 0 },
+        { "DATE", "7", 0, 0 },
+        { "TIMESTAMP(6)", "11", 6, 0 },
+        { "TIMESTAMP(6) WITH TIME ZONE", "13", 6, 0 },
+        { "CLOB", "4000", 0, 0 },
+        { "BLOB", "4000", 0, 0 },
+        { "RAW", "16", 0, 0 },
+        { "BINARY_DOUBLE", "8", 0, 0 },
+        { "XMLTYPE", "2000", 0, 0 },
+        { "ROWID", "10", 0, 0 }
+    };
+
+    private static final String[] NAMES = {
+        "ID", "CUSTOMER_ID", "AMOUNT", "CREATED_AT", "DESCRIPTION", "STATUS", "X", "LAST_MODIFIED_BY_USER"
+    };
+
+    // =================== Bussiness Methods ====================
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public void postgresColumnType(Blackhole bh) {
+        for (Object[] column : COLUMNS) {
+            bh.consume(TransferManager.postgresColumnType((String) column[0], (String) column[1],
+                    (Integer) column[2], (Integer) column[3]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void rpad(Blackhole bh) {
+        for (String name : NAMES) {
+            bh.consume(StringUtils.rpad(name, 30));
+        }
+    }
+}
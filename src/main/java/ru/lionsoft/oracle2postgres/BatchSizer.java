@@ -0,0 +1,175 @@
+/*
+ * File:    BatchSizer.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:48:53 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Size of fetch and COPY batch of one table by bytes: initial number of rows
+ * is estimated by avg_row_len of table statistics and adjusted at runtime
+ * by measured width of encoded rows and rate of fetch. Size of fetch is doubled
+ * (up to MAX_SCALE times) while fetch rate (rows per second over several round trips)
+ * grows by MIN_GAIN at least: larger fetch pays off only when round trips (network
+ * latency) cost more than volume of rows. Batches of pipeline and COPY are bounded
+ * by target bytes.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class BatchSizer {
+
+    // =================== Constants ====================
+
+    private static final int MIN_ROWS = 10;
+    private static final int MAX_ROWS = 100000;
+    private static final int MAX_SCALE = 4;
+    private static final int WINDOW_FETCHES = 3;   // round trips of measured fetch rate
+    private static final double MIN_GAIN = 0.1;    // growth of fetch rate to keep doubled fetch size
+
+    // =================== Fields ====================
+
+    private final long targetBytes; // 0 - fixed rows
+    private double rowBytes;        // measured width of row (0 - unknown)
+    private int scale = 1;
+    private double lastRate;        // fetch rate before fetch size was doubled (0 - not probed)
+    private boolean settled;        // scale is chosen
+    private volatile int rows;      // rows of batch
+    private volatile int fetchSize; // rows of fetch (scaled by fetch rate)
+    private long fetchRows;   // rows fetched since last adjust (fetch thread)
+    private long windowRows;  // rows fetched since last measure of fetch rate (fetch thread)
+    private long windowNanos; // time of fetch since last measure of fetch rate (fetch thread)
+    private boolean started;  // first window (with execution of query) is measured
+
+    // =================== Constructors ===========================
+
+    /**
+     * @param targetBytes bytes of batch (0 - fixed number of rows)
+     * @param avgRowLen average row length by statistics (0 - unknown)
+     * @param defaultRows rows of batch when size is fixed or row length is unknown
+     */
+    public BatchSizer(long targetBytes, long avgRowLen, int defaultRows) {
+        this.targetBytes = targetBytes;
+        this.rows = defaultRows;
+        this.fetchSize = defaultRows;
+        if (targetBytes > 0 && avgRowLen > 0) {
+            rowBytes = avgRowLen;
+            resize();
+        }
+    }
+
+    // =================== Getters and Setters ====================
+
+    public boolean isAdaptive() {
+        return targetBytes > 0;
+    }
+
+    public long getTargetBytes() {
+        return targetBytes;
+    }
+
+    /**
+     * @return rows of batch
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return rows of fetch
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Rows are encoded: width of row is measured
+     * @param rowCount number of rows
+     * @param bytes size of encoded rows
+     */
+    public synchronized void encoded(long rowCount, long bytes) {
+        if (!isAdaptive() || rowCount <= 0 || bytes <= 0) return;
+        double width = (double) bytes / rowCount;
+        rowBytes = rowBytes > 0 ? (rowBytes + width) / 2 : width;
+        resize();
+    }
+
+    /**
+     * Rows are fetched (several round trips): fetch size is doubled while rate of fetch grows
+     * @param rowCount number of fetched rows
+     * @param nanos time of fetch (ResultSet.next)
+     */
+    public synchronized void fetched(long rowCount, long nanos) {
+        if (!isAdaptive() || rowCount <= 0 || nanos <= 0 || settled) return;
+        double rate = (double) rowCount / nanos;
+        if (lastRate > 0 && rate < lastRate * (1 + MIN_GAIN)) {
+            // no gain: round trips are cheap relative to volume
+            scale /= 2;
+            settled = true;
+        } else if (scale < MAX_SCALE) {
+            lastRate = rate;
+            scale *= 2;
+        } else {
+            settled = true;
+        }
+        resize();
+    }
+
+    /**
+     * Move to next row of source and measure time of fetch.
+     * Fetch size is adjusted after each batch of rows and after several round trips.
+     * @param rs source result set
+     * @return true when row is fetched
+     * @exception SQLException when fetch error
+     */
+    public boolean next(ResultSet rs) throws SQLException {
+        long start = System.nanoTime();
+        boolean found = rs.next();
+        windowNanos += System.nanoTime() - start;
+        if (found && ++fetchRows >= getRows()) {
+            windowRows += fetchRows;
+            fetchRows = 0;
+            if (windowRows >= (long) WINDOW_FETCHES * rs.getFetchSize()) {
+                if (started) {
+                    fetched(windowRows, windowNanos);
+                }
+                started = true;
+                windowRows = 0;
+                windowNanos = 0;
+            }
+            apply(rs);
+        }
+        return found;
+    }
+
+    /**
+     * Set fetch size of result set when size is changed
+     * @param rs source result set
+     * @exception SQLException when fetch size is not set
+     */
+    public void apply(ResultSet rs) throws SQLException {
+        int size = getFetchSize();
+        if (rs.getFetchSize() != size) {
+            rs.setFetchSize(size);
+        }
+    }
+
+    private void resize() {
+        if (rowBytes <= 0) return;
+        long size = (long) (targetBytes / rowBytes);
+        rows = (int) Math.max(MIN_ROWS, Math.min(MAX_ROWS, size));
+        fetchSize = (int) Math.max(MIN_ROWS, Math.min(MAX_ROWS, size * scale));
+    }
+
+    @Override
+    public String toString() {
+        return isAdaptive() ? rows + " rows (" + targetBytes + " bytes), fetch " + fetchSize + " rows" : rows + " rows";
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * File:    BinaryCopyEncoder.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:24:37 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Encoder of source rows to PostgreSQL binary COPY format
+ * (COPY ... FROM STDIN (FORMAT binary)).
+ * Codecs of columns are selected once by type of target column.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class BinaryCopyEncoder implements CopyEncoder {
+
+    // =================== Constants ====================
+
+    private static final byte[] HEADER = {
+        'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0
+    };
+
+    // 2000-01-01 00:00:00 UTC - PostgreSQL epoch
+    private static final long PG_EPOCH_SECONDS = 946684800L;
+    private static final long PG_EPOCH_DAYS = 10957L;
+
+    static final int NUMERIC_POS = 0x0000;
+    static final int NUMERIC_NEG = 0x4000;
+    static final int NUMERIC_PINF = 0xD000;
+    static final int NUMERIC_NINF = 0xF000;
+
+    // =================== Fields ====================
+
+    private final ColumnCodec[] codecs;
+
+    // =================== Constructors ===========================
+
+    /**
+     * @param sourceMetaData metadata of source result set (LOB columns)
+     * @param targetMetaData metadata of target table columns (same order as source select)
+     * @exception SQLException when metadata is not available
+     */
+    public BinaryCopyEncoder(ResultSetMetaData sourceMetaData, ResultSetMetaData targetMetaData) throws SQLException {
+        this(ColumnCodec.forTarget(sourceMetaData, targetMetaData));
+    }
+
+    /**
+     * @param codecs codecs of columns (by type of target columns)
+     */
+    public BinaryCopyEncoder(ColumnCodec[] codecs) {
+        this.codecs = codecs;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    @Override
+    public String copyOptions() {
+        return "(FORMAT binary)";
+    }
+
+    @Override
+    public void writeHeader(DataOutputStream out) throws IOException {
+        out.write(HEADER);
+        out.writeInt(0); // flags
+        out.writeInt(0); // header extension length
+    }
+
+    @Override
+    public void writeTrailer(DataOutputStream out) throws IOException {
+        out.writeShort(-1);
+    }
+
+    @Override
+    public void readRow(ResultSet rs, Object[] row) throws SQLException {
+        for (int i = 0; i < codecs.length; i++) {
+            row[i] = codecs[i].read(rs, i + 1);
+        }
+    }
+
+    @Override
+    public void writeRow(Object[] row, DataOutputStream out) throws IOException {
+        out.writeShort(codecs.length);
+        for (int i = 0; i < codecs.length; i++) {
+            Object val = row[i];
+            if (val == null) {
+                out.writeInt(-1);
+            } else {
+                codecs[i].writeBinary(val, out);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ColumnCodec codec : codecs) {
+            codec.close();
+        }
+    }
+
+    // date: days from PostgreSQL epoch
+    static int dateDays(LocalDate val) {
+        return (int) (val.toEpochDay() - PG_EPOCH_DAYS);
+    }
+
+    // timestamp with time zone: instant as microseconds from PostgreSQL epoch
+    static long timestampTzMicros(Timestamp val) {
+        return (Math.floorDiv(val.getTime(), 1000L) - PG_EPOCH_SECONDS) * 1000000L + val.getNanos() / 1000;
+    }
+
+    // timestamp without time zone: date (days from 1970-01-01) and time as microseconds from PostgreSQL epoch
+    static long timestampMicros(long epochDay, int secondOfDay, int nanos) {
+        return ((epochDay - PG_EPOCH_DAYS) * 86400L + secondOfDay) * 1000000L + nanos / 1000;
+    }
+
+    /**
+     * Write numeric value: ndigits, weight, sign, dscale and base 10000 digits
+     * @param val numeric value
+     * @param out output stream
+     * @exception IOException when write error
+     */
+    static void writeNumeric(BigDecimal val, DataOutputStream out) throws IOException {
+        int sign = val.signum() < 0 ? NUMERIC_NEG : NUMERIC_POS;
+        int dscale = Math.max(val.scale(), 0);
+        String str = val.abs().toPlainString();
+        int point = str.indexOf('.');
+        String intPart = point < 0 ? str : str.substring(0, point);
+        String fracPart = point < 0 ? "" : str.substring(point + 1);
+        if (intPart.equals("0")) intPart = "";
+
+        // align integer part to left and fraction part to right by groups of 4 decimal digits
+        int intGroups = (intPart.length() + 3) / 4;
+        int fracGroups = (fracPart.length() + 3) / 4;
+        short[] digits = new short[intGroups + fracGroups];
+        int pad = intGroups * 4 - intPart.length();
+        for (int i = 0; i < intPart.length(); i++) {
+            int pos = pad + i;
+            digits[pos / 4] = (short) (digits[pos / 4] * 10 + (intPart.charAt(i) - '0'));
+        }
+        for (int i = 0; i < fracGroups * 4; i++) {
+            int d = i < fracPart.length() ? fracPart.charAt(i) - '0' : 0;
+            int idx = intGroups + i / 4;
+            digits[idx] = (short) (digits[idx] * 10 + d);
+        }
+
+        // strip leading and trailing zero groups
+        int weight = intGroups - 1;
+        int first = 0;
+        while (first < digits.length && digits[first] == 0) {
+            first++;
+            weight--;
+        }
+        int last = digits.length;
+        while (last > first && digits[last - 1] == 0) last--;
+        int ndigits = last - first;
+        if (ndigits == 0) {
+            weight = 0;
+            sign = NUMERIC_POS;
+        }
+
+        out.writeInt(8 + ndigits * 2);
+        out.writeShort(ndigits);
+        out.writeShort(weight);
+        out.writeShort(sign);
+        out.writeShort(dscale);
+        for (int i = first; i < last; i++) {
+            out.writeShort(digits[i]);
+        }
+    }
+}
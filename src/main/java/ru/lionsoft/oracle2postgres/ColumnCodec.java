@@ -0,0 +1,647 @@
+/*
+ * File:    ColumnCodec.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:42:32 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+/**
+ * Codec of one column: typed read from source result set and write
+ * to CSV text, binary COPY or insert parameter. Codecs are selected once
+ * per table by metadata, so row loop has no type switch per value.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public abstract class ColumnCodec {
+
+    // =================== Constants ====================
+
+    // Oracle types of ResultSetMetaData
+    private static final int ORACLE_BINARY_FLOAT = 100;
+    private static final int ORACLE_BINARY_DOUBLE = 101;
+
+    // =================== Fields ====================
+
+    private final int sqlType; // type of null parameter
+
+    // =================== Constructors ===========================
+
+    protected ColumnCodec(int sqlType) {
+        this.sqlType = sqlType;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Read value of column
+     * @param rs source result set
+     * @param col column index (from 1)
+     * @return value or null
+     * @exception SQLException when read error
+     */
+    public abstract Object read(ResultSet rs, int col) throws SQLException;
+
+    /**
+     * Write not null value to CSV line (LOB codecs write line and stream value to out)
+     * @param val value
+     * @param line current CSV line
+     * @param out output stream
+     * @exception IOException when write error
+     */
+    public abstract void writeCsv(Object val, StringBuilder line, DataOutputStream out) throws IOException;
+
+    /**
+     * Write not null value in binary COPY format (length and data)
+     * @param val value
+     * @param out output stream
+     * @exception IOException when write error
+     */
+    public abstract void writeBinary(Object val, DataOutputStream out) throws IOException;
+
+    /**
+     * Set parameter of insert statement
+     * @param pstmt insert statement
+     * @param index parameter index (from 1)
+     * @param val value or null
+     * @exception SQLException when parameter error
+     */
+    public void bind(PreparedStatement pstmt, int index, Object val) throws SQLException {
+        if (val == null) {
+            pstmt.setNull(index, sqlType);
+        } else {
+            pstmt.setObject(index, val);
+        }
+    }
+
+    /**
+     * Release resources of codec (LOB codecs)
+     * @exception IOException when resource is not released
+     */
+    public void close() throws IOException {
+        // no resources
+    }
+
+    // Write collected part of CSV line (encoded to UTF-8 by writer without copy of line)
+    static void writeLine(StringBuilder line, LobWriter writer, DataOutputStream out) throws IOException {
+        if (line.length() > 0) {
+            writer.writeText(line, out);
+            line.setLength(0);
+        }
+    }
+
+    private static void pad2(int v, StringBuilder sb) {
+        sb.append((char) ('0' + v / 10)).append((char) ('0' + v % 10));
+    }
+
+    /**
+     * Append timestamp as text (YYYY-MM-DD HH24:MI:SS[.US][ BC])
+     * @param year astronomical year (0 - 1 BC)
+     * @param month month (1-12)
+     * @param day day of month
+     * @param hour hour
+     * @param minute minute
+     * @param second second
+     * @param nanos nanoseconds (written as microseconds)
+     * @param sb text
+     */
+    static void appendTimestamp(int year, int month, int day, int hour, int minute, int second, int nanos,
+            StringBuilder sb) {
+        int absYear = year > 0 ? year : 1 - year;
+        if (absYear < 1000) sb.append('0');
+        if (absYear < 100) sb.append('0');
+        if (absYear < 10) sb.append('0');
+        sb.append(absYear).append('-');
+        pad2(month, sb);
+        sb.append('-');
+        pad2(day, sb);
+        sb.append(' ');
+        pad2(hour, sb);
+        sb.append(':');
+        pad2(minute, sb);
+        sb.append(':');
+        pad2(second, sb);
+        int micros = nanos / 1000;
+        if (micros > 0) {
+            sb.append('.');
+            for (int div = 100000; div > 0; div /= 10) {
+                sb.append((char) ('0' + micros / div % 10));
+            }
+        }
+        if (year <= 0) sb.append(" BC");
+    }
+
+    /**
+     * Codecs by source columns (CSV and insert)
+     * @param metaData metadata of source result set
+     * @return codecs of columns
+     * @exception SQLException when metadata is not available
+     */
+    public static ColumnCodec[] forSource(ResultSetMetaData metaData) throws SQLException {
+        ColumnCodec[] codecs = new ColumnCodec[metaData.getColumnCount()];
+        for (int i = 0; i < codecs.length; i++) {
+            int col = i + 1;
+            switch (metaData.getColumnType(col)) {
+                case Types.VARCHAR:
+                case Types.CHAR:
+                case Types.LONGVARCHAR: // LONG
+                case Types.NVARCHAR:
+                case Types.NCHAR:
+                    codecs[i] = new TextCodec(true);
+                    break;
+                case Types.CLOB:
+                case Types.NCLOB:
+                    codecs[i] = new ClobCodec();
+                    break;
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY: // LONG RAW
+                    codecs[i] = new BytesCodec();
+                    break;
+                case Types.BLOB:
+                    codecs[i] = new BlobCodec();
+                    break;
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER: // defined fetch type
+                    codecs[i] = new IntCodec();
+                    break;
+                case Types.BIGINT:
+                    codecs[i] = new LongCodec();
+                    break;
+                case Types.NUMERIC:
+                case Types.DECIMAL: {
+                    int precision = metaData.getPrecision(col);
+                    if (metaData.getScale(col) != 0 || precision <= 0 || precision > 18) {
+                        codecs[i] = new DecimalCodec();
+                    } else if (precision <= 9) {
+                        codecs[i] = new IntCodec();
+                    } else {
+                        codecs[i] = new LongCodec();
+                    }
+                    break;
+                }
+                case Types.REAL:
+                case ORACLE_BINARY_FLOAT:
+                    codecs[i] = new FloatCodec();
+                    break;
+                case Types.DOUBLE:
+                case Types.FLOAT:
+                case ORACLE_BINARY_DOUBLE:
+                    codecs[i] = new DoubleCodec();
+                    break;
+                case Types.DATE: // Oracle DATE has time
+                case Types.TIMESTAMP:
+                    codecs[i] = new TimestampCodec();
+                    break;
+                default:
+                    codecs[i] = new TextCodec(false);
+            }
+        }
+        return codecs;
+    }
+
+    /**
+     * Codecs by target columns (binary COPY): value is read as type of target column
+     * @param sourceMetaData metadata of source result set (LOB columns)
+     * @param targetMetaData metadata of target table (same order as source select)
+     * @return codecs of columns
+     * @exception SQLException when metadata is not available
+     */
+    public static ColumnCodec[] forTarget(ResultSetMetaData sourceMetaData, ResultSetMetaData targetMetaData) throws SQLException {
+        ColumnCodec[] codecs = new ColumnCodec[targetMetaData.getColumnCount()];
+        for (int i = 0; i < codecs.length; i++) {
+            int sourceType = sourceMetaData.getColumnType(i + 1);
+            switch (targetMetaData.getColumnTypeName(i + 1)) {
+                case "int2":        codecs[i] = new ShortCodec(); break;
+                case "int4":        codecs[i] = new IntCodec(); break;
+                case "int8":        codecs[i] = new LongCodec(); break;
+                case "numeric":     codecs[i] = new DecimalCodec(); break;
+                case "float4":      codecs[i] = new FloatCodec(); break;
+                case "float8":      codecs[i] = new DoubleCodec(); break;
+                case "timestamp":   codecs[i] = new TimestampCodec(); break;
+                case "timestamptz": codecs[i] = new TimestampTzCodec(); break;
+                case "date":        codecs[i] = new DateCodec(); break;
+                case "bool":        codecs[i] = new BoolCodec(); break;
+                case "bytea":
+                    codecs[i] = sourceType == Types.BLOB ? new BlobCodec() : new BytesCodec();
+                    break;
+                default: // text, varchar, bpchar, xml: text representation
+                    codecs[i] = sourceType == Types.CLOB || sourceType == Types.NCLOB
+                            ? new ClobCodec() : new TextCodec(true);
+            }
+        }
+        return codecs;
+    }
+
+    // =================== Codecs ====================
+
+    // Character data (quoted in CSV) or text representation
+    static final class TextCodec extends ColumnCodec {
+        private final boolean quoted;
+
+        TextCodec(boolean quoted) {
+            super(Types.VARCHAR);
+            this.quoted = quoted;
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            return rs.getString(col);
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            String str = (String) val;
+            if (!quoted) {
+                line.append(str);
+                return;
+            }
+            line.append('"');
+            for (int j = 0; j < str.length(); j++) {
+                char c = str.charAt(j);
+                if (c == '"') line.append('"'); // quoted quotes
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            byte[] bytes = ((String) val).getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public void bind(PreparedStatement pstmt, int index, Object val) throws SQLException {
+            if (val == null || quoted) {
+                super.bind(pstmt, index, val);
+            } else {
+                pstmt.setObject(index, val, Types.OTHER); // type of target column
+            }
+        }
+    }
+
+    static final class ShortCodec extends ColumnCodec {
+        ShortCodec() {
+            super(Types.SMALLINT);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            short val = rs.getShort(col);
+            return rs.wasNull() ? null : val;
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            line.append((short) (Short) val);
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            out.writeInt(2);
+            out.writeShort((Short) val);
+        }
+    }
+
+    static final class IntCodec extends ColumnCodec {
+        IntCodec() {
+            super(Types.INTEGER);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            int val = rs.getInt(col);
+            return rs.wasNull() ? null : val;
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            line.append((int) (Integer) val);
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            out.writeInt(4);
+            out.writeInt((Integer) val);
+        }
+    }
+
+    static final class LongCodec extends ColumnCodec {
+        LongCodec() {
+            super(Types.BIGINT);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            long val = rs.getLong(col);
+            return rs.wasNull() ? null : val;
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            line.append((long) (Long) val);
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            out.writeInt(8);
+            out.writeLong((Long) val);
+        }
+    }
+
+    static final class DecimalCodec extends ColumnCodec {
+        DecimalCodec() {
+            super(Types.NUMERIC);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            return rs.getBigDecimal(col);
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            line.append(((BigDecimal) val).toPlainString());
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            BinaryCopyEncoder.writeNumeric((BigDecimal) val, out);
+        }
+    }
+
+    static final class FloatCodec extends ColumnCodec {
+        FloatCodec() {
+            super(Types.REAL);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            float val = rs.getFloat(col);
+            return rs.wasNull() ? null : val;
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            line.append((float) (Float) val);
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            out.writeInt(4);
+            out.writeFloat((Float) val);
+        }
+    }
+
+    static final class DoubleCodec extends ColumnCodec {
+        DoubleCodec() {
+            super(Types.DOUBLE);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            double val = rs.getDouble(col);
+            return rs.wasNull() ? null : val;
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            line.append((double) (Double) val);
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            out.writeInt(8);
+            out.writeDouble((Double) val);
+        }
+    }
+
+    static final class BoolCodec extends ColumnCodec {
+        BoolCodec() {
+            super(Types.BOOLEAN);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            boolean val = rs.getBoolean(col);
+            return rs.wasNull() ? null : val;
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            line.append((Boolean) val ? 't' : 'f');
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            out.writeInt(1);
+            out.writeByte((Boolean) val ? 1 : 0);
+        }
+    }
+
+    // Timestamp without time zone: value is wall time (fields of date and time as in Oracle).
+    // Timestamp is read in UTC calendar (no DST shift) and its fields are taken by hybrid
+    // Julian/Gregorian calendar of driver, so dates before 1582 and BC dates are not shifted.
+    static final class TimestampCodec extends ColumnCodec {
+        private final Calendar utc = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+
+        TimestampCodec() {
+            super(Types.TIMESTAMP);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            Timestamp ts = rs.getTimestamp(col, utc);
+            if (ts == null) return null;
+            utc.setTimeInMillis(ts.getTime());
+            int year = utc.get(Calendar.YEAR);
+            return LocalDateTime.of(utc.get(Calendar.ERA) == GregorianCalendar.BC ? 1 - year : year,
+                    utc.get(Calendar.MONTH) + 1, utc.get(Calendar.DAY_OF_MONTH),
+                    utc.get(Calendar.HOUR_OF_DAY), utc.get(Calendar.MINUTE), utc.get(Calendar.SECOND),
+                    ts.getNanos());
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            LocalDateTime ldt = (LocalDateTime) val;
+            appendTimestamp(ldt.getYear(), ldt.getMonthValue(), ldt.getDayOfMonth(),
+                    ldt.getHour(), ldt.getMinute(), ldt.getSecond(), ldt.getNano(), line);
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            LocalDateTime ldt = (LocalDateTime) val;
+            out.writeInt(8);
+            out.writeLong(BinaryCopyEncoder.timestampMicros(ldt.toLocalDate().toEpochDay(),
+                    ldt.toLocalTime().toSecondOfDay(), ldt.getNano()));
+        }
+    }
+
+    // Timestamp with time zone: instant
+    static final class TimestampTzCodec extends ColumnCodec {
+        TimestampTzCodec() {
+            super(Types.TIMESTAMP_WITH_TIMEZONE);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            return rs.getTimestamp(col);
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            line.append(((Timestamp) val).toInstant());
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            out.writeInt(8);
+            out.writeLong(BinaryCopyEncoder.timestampTzMicros((Timestamp) val));
+        }
+    }
+
+    static final class DateCodec extends ColumnCodec {
+        DateCodec() {
+            super(Types.DATE);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            return rs.getDate(col);
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            line.append(((Date) val).toLocalDate());
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            out.writeInt(4);
+            out.writeInt(BinaryCopyEncoder.dateDays(((Date) val).toLocalDate()));
+        }
+    }
+
+    // RAW, LONG RAW: bytea
+    static final class BytesCodec extends ColumnCodec {
+        private final LobWriter lobWriter = new LobWriter();
+
+        BytesCodec() {
+            super(Types.BINARY);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            return rs.getBytes(col);
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) throws IOException {
+            writeLine(line, lobWriter, out);
+            lobWriter.writeHex((byte[]) val, out);
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            byte[] bytes = (byte[]) val;
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    // BLOB: locator is read, content is streamed on write
+    static final class BlobCodec extends ColumnCodec {
+        private final LobWriter lobWriter = new LobWriter();
+
+        BlobCodec() {
+            super(Types.BINARY);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            return rs.getBlob(col);
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) throws IOException {
+            writeLine(line, lobWriter, out);
+            lobWriter.writeHex((Blob) val, out);
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            lobWriter.writeBinary((Blob) val, out);
+        }
+
+        @Override
+        public void bind(PreparedStatement pstmt, int index, Object val) throws SQLException {
+            if (val == null) {
+                super.bind(pstmt, index, null);
+            } else {
+                pstmt.setBinaryStream(index, ((Blob) val).getBinaryStream());
+            }
+        }
+    }
+
+    // CLOB, NCLOB: locator is read, content is streamed on write
+    static final class ClobCodec extends ColumnCodec {
+        private final LobWriter lobWriter = new LobWriter();
+
+        ClobCodec() {
+            super(Types.LONGVARCHAR);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            return rs.getClob(col);
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) throws IOException {
+            writeLine(line, lobWriter, out);
+            lobWriter.writeCsv((Clob) val, out);
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            lobWriter.writeBinary((Clob) val, out);
+        }
+
+        @Override
+        public void bind(PreparedStatement pstmt, int index, Object val) throws SQLException {
+            if (val == null) {
+                super.bind(pstmt, index, null);
+            } else {
+                pstmt.setCharacterStream(index, ((Clob) val).getCharacterStream());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            lobWriter.close();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * File:    CopyEncoder.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:27:20 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Encoder of source rows to data of COPY ... FROM STDIN command.
+ * Reading of row values (fetch stage) is separated from encoding (encode stage),
+ * so both stages can run in different threads.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public interface CopyEncoder {
+
+    /**
+     * @return options of COPY command for this format
+     */
+    String copyOptions();
+
+    /**
+     * Read values of current row from source result set
+     * @param rs source result set
+     * @param row array for values (reused between rows)
+     * @exception SQLException when read error
+     */
+    void readRow(ResultSet rs, Object[] row) throws SQLException;
+
+    void writeHeader(DataOutputStream out) throws IOException;
+
+    void writeRow(Object[] row, DataOutputStream out) throws IOException;
+
+    void writeTrailer(DataOutputStream out) throws IOException;
+
+    /**
+     * Release resources of codecs (temporary files of LOB values)
+     * @exception IOException when resource is not released
+     */
+    void close() throws IOException;
+}
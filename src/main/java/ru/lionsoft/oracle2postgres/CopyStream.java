@@ -0,0 +1,150 @@
+/*
+ * File:    CopyStream.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:25:33 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+
+/**
+ * Output stream to one continuous COPY ... FROM STDIN command.
+ * Data is collected in small reusable buffer and sent by writeToCopy,
+ * so memory does not depend on number of rows.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class CopyStream extends OutputStream {
+
+    // =================== Fields ====================
+
+    private final TransferTarget target;
+    private final String table; // owner.table
+    private final String sql;
+    private final byte[] buffer;
+    private int count;
+    private long bytes; // total bytes written to stream
+    private long writeNanos; // time of writes to target
+    private long copiedRows; // rows of finished COPY commands
+    private TransferTarget.Copy copyIn;
+
+    // =================== Constructors ===========================
+
+    public CopyStream(TransferTarget target, String table, String sql, int bufferSize) throws SQLException {
+        this.target = target;
+        this.table = table;
+        this.sql = sql;
+        this.buffer = new byte[bufferSize];
+        startCopy();
+    }
+
+    // =================== Getters and Setters ====================
+
+    /**
+     * @return total bytes written to stream
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return total time of sending data and finishing COPY commands (nanoseconds)
+     */
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Start new COPY command (after endCopy)
+     * @exception SQLException when copy is not started
+     */
+    public final void startCopy() throws SQLException {
+        count = 0;
+        copyIn = target.copyIn(table, sql);
+    }
+
+    /**
+     * Send buffered data and finish current COPY command
+     * @param rowCount total rows written to stream
+     * @return number of rows handled by server
+     * @exception IOException when copy failed
+     */
+    public long endCopy(long rowCount) throws IOException {
+        flushBuffer();
+        long start = System.nanoTime();
+        try {
+            long rows = rowCount - copiedRows;
+            copiedRows = rowCount;
+            return copyIn.endCopy(rows);
+        } catch (SQLException ex) {
+            throw new IOException(ex.getLocalizedMessage(), ex);
+        } finally {
+            writeNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            writeToCopy(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private void writeToCopy(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        try {
+            copyIn.writeToCopy(b, off, len);
+        } catch (SQLException ex) {
+            throw new IOException(ex.getLocalizedMessage(), ex);
+        } finally {
+            writeNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) flushBuffer();
+        buffer[count++] = (byte) b;
+        bytes++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        bytes += len;
+        if (len >= buffer.length) {
+            // large block: send directly
+            flushBuffer();
+            writeToCopy(b, off, len);
+            return;
+        }
+        if (len > buffer.length - count) flushBuffer();
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+    }
+
+    /**
+     * Cancel COPY command when it was not finished by endCopy
+     */
+    @Override
+    public void close() throws IOException {
+        if (copyIn != null && copyIn.isActive()) {
+            try {
+                copyIn.cancelCopy();
+            } catch (SQLException ex) {
+                throw new IOException(ex.getLocalizedMessage(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * File:    CsvCopyEncoder.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:27:20 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Encoder of source rows to CSV text for COPY command
+ * (values of character columns are quoted, null is written as 'null',
+ * binary values are written as bytea hex, LOB values are streamed)
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class CsvCopyEncoder implements CopyEncoder {
+
+    // =================== Fields ====================
+
+    private final ColumnCodec[] codecs;
+    private final StringBuilder line = new StringBuilder(1024);
+    private final LobWriter lineWriter = new LobWriter(); // UTF-8 encoder of line
+
+    // =================== Constructors ===========================
+
+    /**
+     * @param metaData metadata of source result set
+     * @exception SQLException when metadata is not available
+     */
+    public CsvCopyEncoder(ResultSetMetaData metaData) throws SQLException {
+        this(ColumnCodec.forSource(metaData));
+    }
+
+    /**
+     * @param codecs codecs of columns
+     */
+    public CsvCopyEncoder(ColumnCodec[] codecs) {
+        this.codecs = codecs;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    @Override
+    public String copyOptions() {
+        return "WITH DELIMITER ',' NULL 'null' CSV";
+    }
+
+    @Override
+    public void readRow(ResultSet rs, Object[] row) throws SQLException {
+        for (int i = 0; i < codecs.length; i++) {
+            row[i] = codecs[i].read(rs, i + 1);
+        }
+    }
+
+    @Override
+    public void writeHeader(DataOutputStream out) {
+        // no header
+    }
+
+    @Override
+    public void writeRow(Object[] row, DataOutputStream out) throws IOException {
+        line.setLength(0);
+        for (int i = 0; i < codecs.length; i++) {
+            if (i > 0) line.append(',');
+            Object val = row[i];
+            if (val == null) {
+                line.append("null");
+            } else {
+                codecs[i].writeCsv(val, line, out);
+            }
+        }
+        line.append('\n');
+        ColumnCodec.writeLine(line, lineWriter, out);
+    }
+
+    @Override
+    public void writeTrailer(DataOutputStream out) {
+        // no trailer
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ColumnCodec codec : codecs) {
+            codec.close();
+        }
+    }
+}
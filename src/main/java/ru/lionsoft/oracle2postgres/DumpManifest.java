@@ -0,0 +1,235 @@
+/*
+ * File:    DumpManifest.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 11:10:22 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manifest of dump (&lt;directory&gt;/manifest.csv): one line per completed file
+ * of COPY data with table, COPY command, rows, bytes and CRC32 checksum of file.
+ * Lines are appended when transfer of table (chunk) is finished, so manifest
+ * of interrupted dump lists complete files only.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class DumpManifest {
+
+    // =================== Constants ====================
+
+    public static final String FILENAME = "manifest.csv";
+    public static final String CATALOG_FILENAME = "catalog.dat"; // saved metadata catalog
+    private static final String HEADER = "file,table,rows,bytes,file_bytes,crc32,compression,copy";
+
+    // =================== Inner Classes ====================
+
+    /**
+     * File of COPY data
+     */
+    public static class Entry {
+        private final String file;        // filename in dump directory
+        private final String table;       // owner.table
+        private final String sql;         // COPY ... FROM STDIN command of data
+        private final String compression; // gzip, none
+        private final long rows;
+        private final long bytes;         // bytes of COPY data
+        private final long fileBytes;     // bytes of file
+        private final long checksum;      // CRC32 of file
+
+        public Entry(String file, String table, String sql, String compression,
+                long rows, long bytes, long fileBytes, long checksum) {
+            this.file = file;
+            this.table = table;
+            this.sql = sql;
+            this.compression = compression;
+            this.rows = rows;
+            this.bytes = bytes;
+            this.fileBytes = fileBytes;
+            this.checksum = checksum;
+        }
+
+        public String getFile() { return file; }
+        public String getTable() { return table; }
+        public String getSql() { return sql; }
+        public String getCompression() { return compression; }
+        public long getRows() { return rows; }
+        public long getBytes() { return bytes; }
+        public long getFileBytes() { return fileBytes; }
+        public long getChecksum() { return checksum; }
+
+        private String toCsv() {
+            return quote(file) + ',' + quote(table) + ',' + rows + ',' + bytes + ',' + fileBytes + ','
+                    + String.format("%08x", checksum) + ',' + compression + ',' + quote(sql);
+        }
+
+        private static Entry parse(String line) throws IOException {
+            List<String> values = split(line);
+            if (values.size() != 8) {
+                throw new IOException("Invalid line of manifest: " + line);
+            }
+            try {
+                return new Entry(values.get(0), values.get(1), values.get(7), values.get(6),
+                        Long.parseLong(values.get(2)), Long.parseLong(values.get(3)),
+                        Long.parseLong(values.get(4)), Long.parseLong(values.get(5), 16));
+            } catch (NumberFormatException ex) {
+                throw new IOException("Invalid line of manifest: " + line, ex);
+            }
+        }
+    }
+
+    // =================== Fields ====================
+
+    private final File file;
+    private PrintWriter out;
+    private int files;
+    private long rows;
+    private long fileNo = -1; // last number of dump file, -1 - directory is not scanned
+
+    // =================== Constructors ===========================
+
+    /**
+     * @param directory dump directory
+     */
+    public DumpManifest(File directory) {
+        this.file = new File(directory, FILENAME);
+    }
+
+    // =================== Getters and Setters ====================
+
+    public File getFile() {
+        return file;
+    }
+
+    public synchronized int getFiles() {
+        return files;
+    }
+
+    public synchronized long getRows() {
+        return rows;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Add completed files of table (chunk)
+     * @param entries files
+     * @exception IOException when manifest is not written
+     */
+    public synchronized void add(List<Entry> entries) throws IOException {
+        if (out == null) {
+            boolean exists = file.length() > 0; // appended by resumed dump
+            out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+            if (!exists) out.println(HEADER);
+        }
+        for (Entry entry : entries) {
+            out.println(entry.toCsv());
+            files++;
+            rows += entry.getRows();
+        }
+        out.flush();
+        if (out.checkError()) {
+            throw new IOException("Write manifest " + file + " failed");
+        }
+    }
+
+    /**
+     * Number of new dump file: numbers of files in directory (resumed dump) are not reused
+     * @return number of file
+     */
+    public synchronized long nextFileNo() {
+        if (fileNo < 0) {
+            fileNo = 0;
+            String[] names = file.getParentFile().list();
+            for (String name : names != null ? names : new String[0]) {
+                fileNo = Math.max(fileNo, fileNo(name));
+            }
+        }
+        return ++fileNo;
+    }
+
+    // Number of dump file <owner.table>.<N>.copy[.gz], 0 - other file
+    private static long fileNo(String name) {
+        String base = name.endsWith(".copy.gz") ? name.substring(0, name.length() - 8)
+                : name.endsWith(".copy") ? name.substring(0, name.length() - 5) : null;
+        if (base == null) return 0;
+        try {
+            return Long.parseLong(base.substring(base.lastIndexOf('.') + 1));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    public synchronized void close() {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    /**
+     * Read manifest of dump
+     * @param directory dump directory
+     * @return files of dump
+     * @exception IOException when manifest is not read
+     */
+    public static List<Entry> read(File directory) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        File manifest = new File(directory, FILENAME);
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(manifest), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty() || line.equals(HEADER)) continue;
+                entries.add(Entry.parse(line));
+            }
+        }
+        return entries;
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Values of CSV line (quoted values with doubled quotes)
+    private static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
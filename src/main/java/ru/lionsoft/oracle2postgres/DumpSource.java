@@ -0,0 +1,114 @@
+/*
+ * File:    DumpSource.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 11:13:13 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Source of dump (source.type=dump) written by target.type=dump to source.directory:
+ * dictionary of tables is restored from saved catalog (DDL of tables, indexes and
+ * foreign keys is created as from Oracle), COPY data files of manifest are loaded
+ * to target as is by transfer manager (rows are not read by result set).
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class DumpSource implements TransferSource {
+
+    // =================== Fields ====================
+
+    private final TransferContext ctx;
+    private final File directory;
+    private final Map<String, List<DumpManifest.Entry>> files = new HashMap<>(); // owner.table -> files
+
+    // =================== Constructors ===========================
+
+    /**
+     * @param ctx transfer context
+     * @exception SQLException when manifest of dump is not read
+     */
+    public DumpSource(TransferContext ctx) throws SQLException {
+        this.ctx = ctx;
+        this.directory = new File(ctx.getSourceDirectory());
+        try {
+            for (DumpManifest.Entry entry : DumpManifest.read(directory)) {
+                files.computeIfAbsent(entry.getTable(), key -> new ArrayList<>()).add(entry);
+            }
+        } catch (IOException ex) {
+            throw new SQLException("Read manifest of dump " + directory + ": " + ex.getLocalizedMessage(), ex);
+        }
+    }
+
+    // =================== Getters and Setters ====================
+
+    @Override
+    public Connection getConnection() {
+        return null;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @param tableName owner.table
+     * @return COPY data files of table in order of dump
+     */
+    public List<DumpManifest.Entry> getFiles(String tableName) {
+        return files.getOrDefault(tableName, Collections.<DumpManifest.Entry>emptyList());
+    }
+
+    // =================== Bussiness Methods ====================
+
+    @Override
+    public Set<String> getTables(String owner) throws SQLException {
+        loadCatalog(ctx.getCatalog(), owner);
+        Set<String> tables = new TreeSet<>();
+        for (MetadataCatalog.TableInfo table : ctx.getCatalog().getTables(owner)) {
+            tables.add(table.getName());
+        }
+        return tables;
+    }
+
+    @Override
+    public void loadCatalog(MetadataCatalog catalog, String owner) throws SQLException {
+        if (catalog.isLoaded(owner)) return;
+        File file = new File(directory, DumpManifest.CATALOG_FILENAME);
+        try {
+            catalog.restore(file);
+        } catch (IOException ex) {
+            throw new SQLException("Read catalog of dump " + file + ": " + ex.getLocalizedMessage(), ex);
+        }
+        if (!catalog.isLoaded(owner)) {
+            throw new SQLException("Schema " + owner + " is not found in dump " + directory);
+        }
+    }
+
+    @Override
+    public ResultSet openRows(String owner, String tableName, List<MetadataCatalog.ColumnInfo> columns,
+            String sql, int fetchSize) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Rows of dump are loaded from COPY data files");
+    }
+
+    @Override
+    public void close() {
+        // nothing
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * File:    DumpTarget.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 11:10:22 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Target of dump for later load (target.type=dump): COPY data of each table (chunk)
+ * is written by worker to files &lt;target.directory&gt;/&lt;owner.table&gt;.&lt;N&gt;.copy[.gz]
+ * with streaming gzip compression (N of existing files is not reused by resumed dump).
+ * Consecutive COPY commands of table are appended to one file (binary COPY keeps one
+ * header and trailer), file is rotated at end of COPY command when it exceeds
+ * dump.fileSize. Completed files are added to manifest when transfer of table (chunk)
+ * is finished, files of failed transfer are deleted.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class DumpTarget implements TransferTarget {
+
+    // =================== Constants ====================
+
+    private static final int FILE_BUFFER_SIZE = 256 * 1024;
+    private static final int BINARY_HEADER_SIZE = 19; // signature, flags, extension length
+    private static final byte[] BINARY_TRAILER = { -1, -1 };
+
+    // =================== Inner Classes ====================
+
+    // File of COPY data (open)
+    private class DumpFile {
+        final File file;
+        final String table;
+        final String sql;
+        final boolean binary;
+        final CRC32 checksum = new CRC32();
+        final OutputStream out;
+        long rows;
+        long bytes; // bytes of COPY data
+        int copies; // finished COPY commands
+
+        DumpFile(String table, String sql) throws IOException {
+            this.table = table;
+            this.sql = sql;
+            this.binary = sql.contains("FORMAT binary");
+            File newFile;
+            do {
+                // existing file (resumed dump) is not overwritten
+                newFile = new File(directory, FileTarget.fileName(table) + '.' + manifest.nextFileNo()
+                        + (compressionLevel > 0 ? ".copy.gz" : ".copy"));
+            } while (!newFile.createNewFile());
+            this.file = newFile;
+            OutputStream fileOut = new CheckedOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(file), FILE_BUFFER_SIZE), checksum);
+            out = compressionLevel > 0 ? new GZIPOutputStream(fileOut, FILE_BUFFER_SIZE) {
+                {
+                    def.setLevel(compressionLevel);
+                }
+            } : fileOut;
+        }
+
+        void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytes += len;
+        }
+
+        DumpManifest.Entry close() throws IOException {
+            if (binary) write(BINARY_TRAILER, 0, BINARY_TRAILER.length);
+            out.close();
+            return new DumpManifest.Entry(file.getName(), table, sql, compressionLevel > 0 ? "gzip" : "none",
+                    rows, bytes, file.length(), checksum.getValue());
+        }
+
+        void delete() {
+            try {
+                out.close();
+            } catch (IOException ex) {
+                // deleted
+            }
+            if (!file.delete()) {
+                ctx.warning("File " + file + " is not deleted");
+            }
+        }
+    }
+
+    // COPY command appended to dump file: binary header of appended COPY and trailers are skipped
+    private class DumpCopy implements Copy {
+        private final DumpFile dump;
+        private int skip;                  // bytes of header to skip
+        private final byte[] held = new byte[BINARY_TRAILER.length]; // last bytes (trailer of binary COPY)
+        private int heldCount;
+        private boolean active = true;
+
+        DumpCopy(DumpFile dump) {
+            this.dump = dump;
+            this.skip = dump.binary && dump.copies > 0 ? BINARY_HEADER_SIZE : 0;
+        }
+
+        @Override
+        public void writeToCopy(byte[] b, int off, int len) throws SQLException {
+            try {
+                if (skip > 0) {
+                    int n = Math.min(skip, len);
+                    skip -= n;
+                    off += n;
+                    len -= n;
+                }
+                if (!dump.binary) {
+                    dump.write(b, off, len);
+                } else if (len >= held.length) {
+                    // held bytes are not trailer
+                    dump.write(held, 0, heldCount);
+                    dump.write(b, off, len - held.length);
+                    System.arraycopy(b, off + len - held.length, held, 0, held.length);
+                    heldCount = held.length;
+                } else {
+                    for (int i = 0; i < len; i++) {
+                        if (heldCount == held.length) {
+                            dump.write(held, 0, 1);
+                            System.arraycopy(held, 1, held, 0, held.length - 1);
+                            heldCount--;
+                        }
+                        held[heldCount++] = b[off + i];
+                    }
+                }
+            } catch (IOException ex) {
+                throw new SQLException("Write file " + dump.file + ": " + ex.getLocalizedMessage(), ex);
+            }
+        }
+
+        @Override
+        public long endCopy(long rowCount) throws SQLException {
+            active = false;
+            dump.rows += rowCount;
+            dump.copies++;
+            if (maxFileSize > 0 && dump.bytes >= maxFileSize) {
+                closeFile(); // rotation
+            }
+            return rowCount;
+        }
+
+        @Override
+        public void cancelCopy() {
+            active = false;
+            discard();
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+    }
+
+    // =================== Fields ====================
+
+    private final TransferContext ctx;
+    private final File directory;
+    private final DumpManifest manifest;
+    private final int compressionLevel; // 0 - no compression
+    private final long maxFileSize;     // bytes of COPY data, 0 - no rotation
+    private DumpFile current;
+    private final List<DumpManifest.Entry> completed = new ArrayList<>(); // files of current table (chunk)
+
+    // =================== Constructors ===========================
+
+    /**
+     * @param ctx transfer context
+     * @exception SQLException when directory is not created
+     */
+    public DumpTarget(TransferContext ctx) throws SQLException {
+        this.ctx = ctx;
+        this.directory = new File(ctx.getTargetDirectory());
+        this.manifest = ctx.getDumpManifest();
+        this.compressionLevel = ctx.getDumpCompression().equals("gzip") ? ctx.getDumpCompressionLevel() : 0;
+        this.maxFileSize = ctx.getDumpFileSize() * 1024 * 1024;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new SQLException("Directory " + directory + " is not created");
+        }
+    }
+
+    // =================== Getters and Setters ====================
+
+    @Override
+    public Connection getConnection() {
+        return null;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    @Override
+    public Copy copyIn(String table, String sql) throws SQLException {
+        if (current != null && !(current.table.equals(table) && current.sql.equals(sql))) {
+            closeFile();
+        }
+        if (current == null) {
+            try {
+                current = new DumpFile(table, sql);
+            } catch (IOException ex) {
+                throw new SQLException("Open dump file of " + table + ": " + ex.getLocalizedMessage(), ex);
+            }
+            ctx.info("Dump file " + current.file);
+        }
+        return new DumpCopy(current);
+    }
+
+    private void closeFile() throws SQLException {
+        try {
+            DumpManifest.Entry entry = current.close();
+            if (entry.getRows() > 0) {
+                completed.add(entry);
+            } else if (!current.file.delete()) {
+                // file of empty COPY
+                ctx.warning("File " + current.file + " is not deleted");
+            }
+        } catch (IOException ex) {
+            throw new SQLException("Close file " + current.file + ": " + ex.getLocalizedMessage(), ex);
+        } finally {
+            current = null;
+        }
+    }
+
+    /**
+     * Transfer of table (chunk) is finished: files are completed and added to manifest
+     * @exception SQLException when file or manifest is not written
+     */
+    @Override
+    public void finish() throws SQLException {
+        if (current != null) {
+            closeFile();
+        }
+        try {
+            manifest.add(completed);
+        } catch (IOException ex) {
+            throw new SQLException(ex.getLocalizedMessage(), ex);
+        } finally {
+            completed.clear();
+        }
+    }
+
+    /**
+     * Transfer of table (chunk) failed: files of table (chunk) are deleted
+     */
+    @Override
+    public void discard() {
+        if (current != null) {
+            current.delete();
+            current = null;
+        }
+        for (DumpManifest.Entry entry : completed) {
+            if (!new File(directory, entry.getFile()).delete()) {
+                ctx.warning("File " + entry.getFile() + " is not deleted");
+            }
+        }
+        completed.clear();
+    }
+
+    @Override
+    public void close() {
+        discard(); // not finished
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * File:    FileTarget.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:58:05 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Target without database: data of each COPY command is written to file
+ * &lt;directory&gt;/&lt;owner.table&gt;.&lt;N&gt;.copy (loaded by COPY ... FROM 'file' with same options)
+ * or discarded (directory is null), so throughput of source and encoding
+ * is measured without target database.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class FileTarget implements TransferTarget {
+
+    // =================== Constants ====================
+
+    private static final int FILE_BUFFER_SIZE = 256 * 1024;
+    private static final AtomicLong FILE_NO = new AtomicLong();
+    private static final String FILE_NAME_CHARS = "[^A-Za-z0-9_.$#-]"; // quoted identifiers
+
+    // =================== Fields ====================
+
+    private final TransferContext ctx;
+    private final File directory; // null - discard data
+
+    // =================== Constructors ===========================
+
+    /**
+     * @param ctx transfer context
+     * @param directory directory of COPY data files (null - discard data)
+     * @exception SQLException when directory is not created
+     */
+    public FileTarget(TransferContext ctx, File directory) throws SQLException {
+        this.ctx = ctx;
+        this.directory = directory;
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new SQLException("Directory " + directory + " is not created");
+        }
+    }
+
+    // =================== Getters and Setters ====================
+
+    @Override
+    public Connection getConnection() {
+        return null;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    @Override
+    public Copy copyIn(String table, String sql) throws SQLException {
+        OutputStream out = null;
+        if (directory != null) {
+            File file = new File(directory, fileName(table) + '.' + FILE_NO.incrementAndGet() + ".copy");
+            try {
+                out = new BufferedOutputStream(new FileOutputStream(file), FILE_BUFFER_SIZE);
+            } catch (IOException ex) {
+                throw new SQLException("Open file " + file + ": " + ex.getLocalizedMessage(), ex);
+            }
+            ctx.info("Copy data file " + file + ": {" + sql + "}");
+        }
+        return new FileCopy(out);
+    }
+
+    /**
+     * Name of data file of table: characters of quoted identifiers other than
+     * letters, digits, '_', '.', '$', '#' and '-' are replaced by '_'
+     * @param table owner.table
+     * @return prefix of file name
+     */
+    static String fileName(String table) {
+        return table.replaceAll(FILE_NAME_CHARS, "_");
+    }
+
+    @Override
+    public void finish() {
+        // nothing: files are closed by end of copy
+    }
+
+    @Override
+    public void discard() {
+        // nothing: files of failed copy remain
+    }
+
+    @Override
+    public void close() {
+        // nothing: files are closed by end of copy
+    }
+
+    // COPY to file or to nothing
+    private static class FileCopy implements Copy {
+        private final OutputStream out;
+        private boolean active = true;
+
+        FileCopy(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void writeToCopy(byte[] b, int off, int len) throws SQLException {
+            if (out == null) return;
+            try {
+                out.write(b, off, len);
+            } catch (IOException ex) {
+                throw new SQLException(ex.getLocalizedMessage(), ex);
+            }
+        }
+
+        /**
+         * @return rows written by client
+         */
+        @Override
+        public long endCopy(long rowCount) throws SQLException {
+            active = false;
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException ex) {
+                    throw new SQLException(ex.getLocalizedMessage(), ex);
+                }
+            }
+            return rowCount;
+        }
+
+        @Override
+        public void cancelCopy() throws SQLException {
+            endCopy(0);
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * File:    ForeignKeyScheduler.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:32:23 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Scheduler of foreign key jobs: job of foreign key is released
+ * as soon as both table and referenced table are ready
+ * (loaded, and with post-load constraints when enabled).
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class ForeignKeyScheduler {
+
+    // =================== Inner Classes ====================
+
+    private static class ForeignKey {
+        final String tableName;
+        final String constraintName;
+        final String refTableName;
+
+        ForeignKey(String tableName, String constraintName, String refTableName) {
+            this.tableName = tableName;
+            this.constraintName = constraintName;
+            this.refTableName = refTableName;
+        }
+    }
+
+    // =================== Fields ====================
+
+    private final Map<String, ForeignKey> pending = new LinkedHashMap<>(); // constraint name -> fk
+    private final Map<String, List<ForeignKey>> byTable = new HashMap<>();
+    private final Set<String> readyTables = new HashSet<>();
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Register foreign key
+     * @param tableName table of foreign key
+     * @param constraintName name of foreign key
+     * @param refTableName referenced table (null when it is not transferred)
+     */
+    public synchronized void register(String tableName, String constraintName, String refTableName) {
+        ForeignKey fk = new ForeignKey(tableName, constraintName, refTableName);
+        pending.put(constraintName, fk);
+        byTable.computeIfAbsent(tableName, k -> new ArrayList<>()).add(fk);
+        if (refTableName != null && !refTableName.equals(tableName)) {
+            byTable.computeIfAbsent(refTableName, k -> new ArrayList<>()).add(fk);
+        }
+    }
+
+    /**
+     * Mark table as ready
+     * @param tableName table name
+     * @return jobs of foreign keys with both tables ready
+     */
+    public synchronized List<TransferJob> tableReady(String tableName) {
+        readyTables.add(tableName);
+        List<TransferJob> jobs = new ArrayList<>();
+        List<ForeignKey> list = byTable.remove(tableName);
+        if (list == null) return jobs;
+        for (ForeignKey fk : list) {
+            boolean ready = readyTables.contains(fk.tableName)
+                    && (fk.refTableName == null || readyTables.contains(fk.refTableName));
+            if (ready && pending.remove(fk.constraintName) != null) {
+                jobs.add(new TransferJob(fk.tableName, fk.constraintName));
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * @return jobs of foreign keys not released (tables not ready)
+     */
+    public synchronized List<TransferJob> remaining() {
+        List<TransferJob> jobs = new ArrayList<>();
+        for (ForeignKey fk : pending.values()) {
+            jobs.add(new TransferJob(fk.tableName, fk.constraintName));
+        }
+        pending.clear();
+        byTable.clear();
+        return jobs;
+    }
+}
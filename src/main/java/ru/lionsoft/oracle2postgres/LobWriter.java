@@ -0,0 +1,379 @@
+/*
+ * File:    LobWriter.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:40:35 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Writer of LOB values to COPY data by chunks: content of BLOB and CLOB
+ * is streamed from source with reusable buffers, so memory does not depend
+ * on size of LOB. Locator of LOB is freed after write. CLOB of binary COPY
+ * is read once: UTF-8 text is buffered in memory up to MEMORY_SIZE and larger
+ * text is spilled to temporary file, so length is known before data. Temporary
+ * file is reused by CLOBs of writer and deleted when writer is closed.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class LobWriter {
+
+    // =================== Constants ====================
+
+    private static final int CHUNK_SIZE = 32 * 1024;
+    private static final int MEMORY_SIZE = 4 * 1024 * 1024; // UTF-8 text of CLOB in memory
+    private static final byte[] HEX_DIGITS = {
+        '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
+    };
+
+    // =================== Inner Classes ====================
+
+    // Bytes in memory up to MEMORY_SIZE, then in temporary file (reused)
+    private static class SpillBuffer extends OutputStream {
+        private byte[] memory = new byte[CHUNK_SIZE];
+        private int count;       // bytes in memory
+        private long size;       // all bytes
+        private File file;       // spilled bytes, created by first spill
+        private OutputStream fileOut; // open while bytes are spilled
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (fileOut == null && count + len > memory.length) {
+                if (count + len <= MEMORY_SIZE) {
+                    memory = Arrays.copyOf(memory, Math.min(MEMORY_SIZE, Math.max(memory.length * 2, count + len)));
+                } else {
+                    if (file == null) file = File.createTempFile("clob", ".tmp");
+                    // truncated
+                    fileOut = new BufferedOutputStream(new FileOutputStream(file), CHUNK_SIZE);
+                }
+            }
+            if (fileOut != null) {
+                fileOut.write(b, off, len);
+            } else {
+                System.arraycopy(b, off, memory, count, len);
+                count += len;
+            }
+            size += len;
+        }
+
+        long size() {
+            return size;
+        }
+
+        // bytes of memory and file are written to out
+        void writeTo(OutputStream out, byte[] buffer) throws IOException {
+            out.write(memory, 0, count);
+            if (fileOut == null) return;
+            fileOut.close();
+            fileOut = null;
+            try (InputStream in = new BufferedInputStream(new FileInputStream(file), CHUNK_SIZE)) {
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    out.write(buffer, 0, n);
+                }
+            }
+        }
+
+        void reset() {
+            count = 0;
+            size = 0;
+            if (memory.length > MEMORY_SIZE / 4) {
+                memory = new byte[CHUNK_SIZE]; // large text is not kept
+            }
+            if (fileOut != null) {
+                try {
+                    fileOut.close();
+                } catch (IOException ex) {
+                    // truncated by next spill
+                }
+                fileOut = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reset();
+            if (file != null) {
+                File deleted = file;
+                file = null;
+                if (!deleted.delete()) {
+                    throw new IOException("Temporary file " + deleted + " is not deleted");
+                }
+            }
+        }
+    }
+
+    // =================== Fields ====================
+
+    private final byte[] bytes = new byte[CHUNK_SIZE];
+    private final byte[] hex = new byte[CHUNK_SIZE * 2];
+    private final char[] chars = new char[CHUNK_SIZE];
+    private int pos;  // bytes in buffer of UTF-8 encoder
+    private char high; // pending high surrogate of UTF-8 encoder
+    private final SpillBuffer clobText = new SpillBuffer(); // UTF-8 text of CLOB (binary COPY)
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Write binary value as bytea hex text (\x...)
+     * @param val binary value
+     * @param out output stream
+     * @exception IOException when write error
+     */
+    public void writeHex(byte[] val, OutputStream out) throws IOException {
+        out.write('\\');
+        out.write('x');
+        for (int off = 0; off < val.length; off += CHUNK_SIZE) {
+            writeHexChunk(val, off, Math.min(CHUNK_SIZE, val.length - off), out);
+        }
+    }
+
+    /**
+     * Write BLOB as bytea hex text (\x...)
+     * @param blob source BLOB
+     * @param out output stream
+     * @exception IOException when read or write error
+     */
+    public void writeHex(Blob blob, OutputStream out) throws IOException {
+        out.write('\\');
+        out.write('x');
+        try (InputStream in = blob.getBinaryStream()) {
+            int n;
+            while ((n = in.read(bytes)) > 0) {
+                writeHexChunk(bytes, 0, n, out);
+            }
+        } catch (SQLException ex) {
+            throw new IOException(ex.getLocalizedMessage(), ex);
+        } finally {
+            free(blob);
+        }
+    }
+
+    private void writeHexChunk(byte[] b, int off, int len, OutputStream out) throws IOException {
+        for (int i = 0; i < len; i++) {
+            int v = b[off + i] & 0xFF;
+            hex[i * 2] = HEX_DIGITS[v >>> 4];
+            hex[i * 2 + 1] = HEX_DIGITS[v & 0x0F];
+        }
+        out.write(hex, 0, len * 2);
+    }
+
+    /**
+     * Write BLOB as binary COPY value (length and bytes)
+     * @param blob source BLOB
+     * @param out output stream
+     * @exception IOException when read or write error
+     */
+    public void writeBinary(Blob blob, DataOutputStream out) throws IOException {
+        try (InputStream in = blob.getBinaryStream()) {
+            long length = blob.length();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("BLOB of " + length + " bytes is too large for bytea");
+            }
+            out.writeInt((int) length);
+            long written = 0;
+            int n;
+            while (written < length && (n = in.read(bytes, 0, (int) Math.min(bytes.length, length - written))) > 0) {
+                out.write(bytes, 0, n);
+                written += n;
+            }
+            if (written != length) {
+                throw new IOException("BLOB is changed while read: " + written + " of " + length + " bytes");
+            }
+        } catch (SQLException ex) {
+            throw new IOException(ex.getLocalizedMessage(), ex);
+        } finally {
+            free(blob);
+        }
+    }
+
+    /**
+     * Write CLOB as quoted CSV value (UTF-8)
+     * @param clob source CLOB
+     * @param out output stream
+     * @exception IOException when read or write error
+     */
+    public void writeCsv(Clob clob, OutputStream out) throws IOException {
+        out.write('"');
+        try (Reader reader = clob.getCharacterStream()) {
+            encode(reader, true, out);
+        } catch (SQLException ex) {
+            throw new IOException(ex.getLocalizedMessage(), ex);
+        } finally {
+            free(clob);
+        }
+        out.write('"');
+    }
+
+    /**
+     * Write CLOB as binary COPY value (length and UTF-8 bytes).
+     * CLOB is read once to buffer (memory or temporary file), then length and data are written.
+     * @param clob source CLOB
+     * @param out output stream
+     * @exception IOException when read or write error
+     */
+    public void writeBinary(Clob clob, DataOutputStream out) throws IOException {
+        try {
+            try (Reader reader = clob.getCharacterStream()) {
+                encode(reader, false, clobText);
+            }
+            if (clobText.size() > Integer.MAX_VALUE) {
+                throw new IOException("CLOB of " + clobText.size() + " bytes is too large for text");
+            }
+            out.writeInt((int) clobText.size());
+            clobText.writeTo(out, bytes);
+        } catch (SQLException ex) {
+            throw new IOException(ex.getLocalizedMessage(), ex);
+        } finally {
+            clobText.reset();
+            free(clob);
+        }
+    }
+
+    /**
+     * Release resources of writer (temporary file of CLOB text)
+     * @exception IOException when temporary file is not deleted
+     */
+    public void close() throws IOException {
+        clobText.close();
+    }
+
+    /**
+     * Write text as UTF-8 (collected part of CSV line)
+     * @param text text
+     * @param out output stream
+     * @exception IOException when write error
+     */
+    public void writeText(CharSequence text, OutputStream out) throws IOException {
+        pos = 0;
+        high = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80 && high == 0 && pos < bytes.length) {
+                bytes[pos++] = (byte) c; // ASCII
+            } else {
+                put(c, out);
+            }
+        }
+        endText(out);
+    }
+
+    /**
+     * Encode text to UTF-8 by chunks
+     * @param reader source text
+     * @param quote double quotes (CSV)
+     * @param out output stream (null - length only)
+     * @return length of UTF-8 bytes
+     */
+    private long encode(Reader reader, boolean quote, OutputStream out) throws IOException {
+        long length = 0;
+        pos = 0;
+        high = 0;
+        int n;
+        while ((n = reader.read(chars)) > 0) {
+            for (int i = 0; i < n; i++) {
+                char c = chars[i];
+                if (quote && c == '"') length += put('"', out);
+                length += put(c, out);
+            }
+        }
+        return length + endText(out);
+    }
+
+    // unpaired high surrogate at end of text, bytes of buffer are written
+    private int endText(OutputStream out) throws IOException {
+        int length = 0;
+        if (high != 0) {
+            high = 0;
+            length = putCodePoint('?');
+        }
+        flushBytes(out);
+        return length;
+    }
+
+    private int put(char c, OutputStream out) throws IOException {
+        if (pos > bytes.length - 8) flushBytes(out);
+        if (high != 0) {
+            char h = high;
+            high = 0;
+            if (Character.isLowSurrogate(c)) {
+                return putCodePoint(Character.toCodePoint(h, c));
+            }
+            return putCodePoint('?') + put(c, out);
+        }
+        if (Character.isHighSurrogate(c)) {
+            high = c;
+            return 0;
+        }
+        return putCodePoint(Character.isLowSurrogate(c) ? '?' : c);
+    }
+
+    private int putCodePoint(int cp) {
+        if (cp < 0x80) {
+            bytes[pos++] = (byte) cp;
+            return 1;
+        }
+        if (cp < 0x800) {
+            bytes[pos++] = (byte) (0xC0 | (cp >> 6));
+            bytes[pos++] = (byte) (0x80 | (cp & 0x3F));
+            return 2;
+        }
+        if (cp < 0x10000) {
+            bytes[pos++] = (byte) (0xE0 | (cp >> 12));
+            bytes[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            bytes[pos++] = (byte) (0x80 | (cp & 0x3F));
+            return 3;
+        }
+        bytes[pos++] = (byte) (0xF0 | (cp >> 18));
+        bytes[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+        bytes[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+        bytes[pos++] = (byte) (0x80 | (cp & 0x3F));
+        return 4;
+    }
+
+    private void flushBytes(OutputStream out) throws IOException {
+        if (out != null && pos > 0) {
+            out.write(bytes, 0, pos);
+        }
+        pos = 0;
+    }
+
+    // Release locator of LOB
+    private static void free(Blob blob) throws IOException {
+        try {
+            blob.free();
+        } catch (SQLException ex) {
+            throw new IOException(ex.getLocalizedMessage(), ex);
+        }
+    }
+
+    private static void free(Clob clob) throws IOException {
+        try {
+            clob.free();
+        } catch (SQLException ex) {
+            throw new IOException(ex.getLocalizedMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * File:    LogWriter.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 11:06:40 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous writer of log and DDL script: transfer threads add lines
+ * to lock-free queue, writer thread formats time of log lines and writes
+ * to buffered streams (flushed when queue is empty).
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class LogWriter {
+
+    // =================== Constants ====================
+
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // =================== Inner Classes ====================
+
+    // Line of log (with time) or DDL script (without time)
+    private static class Line {
+        final PrintStream out;
+        final long millis; // 0 - without time
+        final String text;
+
+        Line(PrintStream out, long millis, String text) {
+            this.out = out;
+            this.millis = millis;
+            this.text = text;
+        }
+    }
+
+    // =================== Fields ====================
+
+    private final Queue<Line> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong added = new AtomicLong();
+    private volatile long flushed;     // lines written and flushed
+    private volatile long flushTarget; // lines to flush requested by flush()
+    private volatile boolean waiting; // writer thread is parked
+    private volatile boolean closed;
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS"); // under lock of writer
+    private final Thread thread;
+
+    // =================== Constructors ===========================
+
+    public LogWriter() {
+        thread = new Thread(this::run, "Log");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Add log line with current time
+     * @param out log stream
+     * @param message message
+     */
+    public void log(PrintStream out, String message) {
+        add(new Line(out, System.currentTimeMillis(), message));
+    }
+
+    /**
+     * Add line as is
+     * @param out output stream
+     * @param text text of line(s)
+     */
+    public void println(PrintStream out, String text) {
+        add(new Line(out, 0, text));
+    }
+
+    private void add(Line line) {
+        if (closed) {
+            writeNow(line); // after close: caller thread
+            return;
+        }
+        queue.add(line);
+        added.incrementAndGet();
+        if (waiting) LockSupport.unpark(thread);
+        if (closed) {
+            drain(); // closed while added
+        }
+    }
+
+    /**
+     * Wait until added lines are written and streams are flushed
+     */
+    public void flush() {
+        long target = added.get();
+        if (flushTarget < target) flushTarget = target;
+        while (flushed < target && thread.isAlive()) {
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Write remaining lines and stop writer thread
+     */
+    public void close() {
+        flush();
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        drain(); // added while closing
+    }
+
+    private synchronized void drain() {
+        Line line;
+        while ((line = queue.poll()) != null) {
+            writeNow(line);
+        }
+    }
+
+    private synchronized void writeNow(Line line) {
+        write(line);
+        line.out.flush();
+    }
+
+    private void run() {
+        Map<PrintStream, Boolean> dirty = new IdentityHashMap<>();
+        long count = 0;
+        while (true) {
+            // queue is drained under lock: lines added after close are written by caller thread
+            synchronized (this) {
+                Line line;
+                while ((line = queue.poll()) != null) {
+                    write(line);
+                    dirty.put(line.out, Boolean.TRUE);
+                    count++;
+                    if (count >= flushTarget && flushTarget > flushed) {
+                        // requested by flush() while queue is not empty
+                        flushStreams(dirty, count);
+                    }
+                }
+                // queue is empty: flush streams
+                flushStreams(dirty, count);
+            }
+            if (closed && queue.isEmpty()) return;
+            waiting = true;
+            if (queue.isEmpty()) LockSupport.parkNanos(this, IDLE_NANOS);
+            waiting = false;
+        }
+    }
+
+    private void flushStreams(Map<PrintStream, Boolean> dirty, long count) {
+        for (PrintStream out : dirty.keySet()) out.flush();
+        dirty.clear();
+        flushed = count;
+    }
+
+    private void write(Line line) {
+        if (line.millis > 0) {
+            line.out.println(dateFormat.format(new Date(line.millis)) + " " + line.text);
+        } else {
+            line.out.println(line.text);
+        }
+    }
+}
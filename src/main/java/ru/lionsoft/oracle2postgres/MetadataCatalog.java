@@ -0,0 +1,450 @@
+/*
+ * File:    MetadataCatalog.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:28:45 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catalog of source dictionary: tables, columns, comments, constraints and indexes
+ * of schema owner are loaded once by bulk queries and served from memory
+ * to all transfer threads. Catalog is saved with dump of tables, so dump
+ * is loaded without source database.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class MetadataCatalog {
+
+    // =================== Constants ====================
+
+    private static final int FETCH_SIZE = 1000;
+
+    // Classes of saved catalog (file of dump may be copied from other host)
+    private static final Set<String> CATALOG_CLASSES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ArrayList.class.getName(), TableInfo.class.getName(), ColumnInfo.class.getName(),
+            ConstraintInfo.class.getName(), IndexInfo.class.getName())));
+
+    // =================== Inner Classes ====================
+
+    public static class TableInfo implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String owner;
+        private final String name;
+        private final long numRows;
+        private final long avgRowLen;
+        private final long blocks;
+        private String comments;
+        private final List<ColumnInfo> columns = new ArrayList<>();
+        private final List<ConstraintInfo> constraints = new ArrayList<>();
+        private final List<IndexInfo> indexes = new ArrayList<>();
+
+        TableInfo(String owner, String name, long numRows, long avgRowLen, long blocks) {
+            this.owner = owner;
+            this.name = name;
+            this.numRows = numRows;
+            this.avgRowLen = avgRowLen;
+            this.blocks = blocks;
+        }
+
+        public String getOwner() { return owner; }
+        public String getName() { return name; }
+        public long getNumRows() { return numRows; }
+        public long getAvgRowLen() { return avgRowLen; }
+        public long getBlocks() { return blocks; }
+        public String getComments() { return comments; }
+        public List<ColumnInfo> getColumns() { return columns; }
+        public List<ConstraintInfo> getConstraints() { return constraints; }
+        public List<IndexInfo> getIndexes() { return indexes; }
+
+        public ColumnInfo getColumn(String columnName) {
+            for (ColumnInfo column : columns) {
+                if (column.getName().equals(columnName)) return column;
+            }
+            return null;
+        }
+    }
+
+    public static class ColumnInfo implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String name;
+        private final String dataType;
+        private final String dataLength;
+        private final int dataScale;
+        private final int dataPrecision;
+        private final boolean nullable;
+        private final String dataDefault;
+        private String comments;
+
+        ColumnInfo(String name, String dataType, String dataLength, int dataScale, int dataPrecision,
+                boolean nullable, String dataDefault) {
+            this.name = name;
+            this.dataType = dataType;
+            this.dataLength = dataLength;
+            this.dataScale = dataScale;
+            this.dataPrecision = dataPrecision;
+            this.nullable = nullable;
+            this.dataDefault = dataDefault;
+        }
+
+        public String getName() { return name; }
+        public String getDataType() { return dataType; }
+        public String getDataLength() { return dataLength; }
+        public int getDataScale() { return dataScale; }
+        public int getDataPrecision() { return dataPrecision; }
+        public boolean isNullable() { return nullable; }
+        public String getDataDefault() { return dataDefault; }
+        public String getComments() { return comments; }
+    }
+
+    public static class ConstraintInfo implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String owner;
+        private final String name;
+        private final String type;
+        private final String tableName;
+        private final String searchCondition;
+        private final String refOwner;
+        private final String refConstraintName;
+        private final String deleteRule;
+        private final List<String> columns = new ArrayList<>();
+
+        ConstraintInfo(String owner, String name, String type, String tableName, String searchCondition,
+                String refOwner, String refConstraintName, String deleteRule) {
+            this.owner = owner;
+            this.name = name;
+            this.type = type;
+            this.tableName = tableName;
+            this.searchCondition = searchCondition;
+            this.refOwner = refOwner;
+            this.refConstraintName = refConstraintName;
+            this.deleteRule = deleteRule;
+        }
+
+        public String getOwner() { return owner; }
+        public String getName() { return name; }
+        public String getType() { return type; }
+        public String getTableName() { return tableName; }
+        public String getSearchCondition() { return searchCondition; }
+        public String getRefOwner() { return refOwner; }
+        public String getRefConstraintName() { return refConstraintName; }
+        public String getDeleteRule() { return deleteRule; }
+        public List<String> getColumns() { return columns; }
+    }
+
+    public static class IndexInfo implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String owner;
+        private final String name;
+        private final String type;
+        private final String uniqueness;
+        private final List<String> columns = new ArrayList<>();
+
+        IndexInfo(String owner, String name, String type, String uniqueness) {
+            this.owner = owner;
+            this.name = name;
+            this.type = type;
+            this.uniqueness = uniqueness;
+        }
+
+        public String getOwner() { return owner; }
+        public String getName() { return name; }
+        public String getType() { return type; }
+        public String getUniqueness() { return uniqueness; }
+        public List<String> getColumns() { return columns; }
+    }
+
+    // Input of saved catalog: classes other than catalog classes are rejected
+    private static class CatalogInputStream extends ObjectInputStream {
+
+        CatalogInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (!CATALOG_CLASSES.contains(desc.getName())) {
+                throw new InvalidClassException(desc.getName(), "Class is not allowed in catalog file");
+            }
+            return super.resolveClass(desc);
+        }
+    }
+
+    // =================== Fields ====================
+
+    private final Set<String> owners = ConcurrentHashMap.newKeySet();
+    private final Map<String, TableInfo> tables = new ConcurrentHashMap<>();           // owner.table
+    private final Map<String, ConstraintInfo> constraints = new ConcurrentHashMap<>(); // owner.constraint
+
+    // =================== Getters and Setters ====================
+
+    public TableInfo getTable(String owner, String tableName) {
+        return tables.get(owner + '.' + tableName);
+    }
+
+    /**
+     * Constraint of any owner (dictionary of other owner is loaded on demand)
+     * @param connection source connection
+     * @param owner constraint owner
+     * @param constraintName constraint name
+     * @return constraint or null when not exists
+     * @exception SQLException when sql error execute
+     */
+    public ConstraintInfo getConstraint(Connection connection, String owner, String constraintName) throws SQLException {
+        load(connection, owner);
+        return constraints.get(owner + '.' + constraintName);
+    }
+
+    /**
+     * @param owner schema owner
+     * @return tables of loaded owner
+     */
+    public List<TableInfo> getTables(String owner) {
+        List<TableInfo> list = new ArrayList<>();
+        for (TableInfo table : tables.values()) {
+            if (table.getOwner().equals(owner)) list.add(table);
+        }
+        return list;
+    }
+
+    public List<ColumnInfo> getColumns(String owner, String tableName) {
+        TableInfo table = getTable(owner, tableName);
+        return table == null ? Collections.<ColumnInfo>emptyList() : table.getColumns();
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Load dictionary of schema owner (once)
+     * @param connection source connection
+     * @param owner schema owner
+     * @exception SQLException when sql error execute
+     */
+    public void load(Connection connection, String owner) throws SQLException {
+        // source without database: dictionary of other owner is unknown
+        if (!owners.contains(owner) && connection != null) {
+            loadOwner(connection, owner);
+        }
+    }
+
+    /**
+     * @param owner schema owner
+     * @return true when dictionary of owner is loaded
+     */
+    public boolean isLoaded(String owner) {
+        return owners.contains(owner);
+    }
+
+    /**
+     * Add dictionary of schema owner from source without database
+     * @param owner schema owner
+     * @param tableInfos tables with columns and constraints
+     */
+    synchronized void add(String owner, List<TableInfo> tableInfos) {
+        if (owners.contains(owner)) return;
+        for (TableInfo table : tableInfos) {
+            tables.put(owner + '.' + table.getName(), table);
+            for (ConstraintInfo constraint : table.getConstraints()) {
+                constraints.put(owner + '.' + constraint.getName(), constraint);
+            }
+        }
+        owners.add(owner);
+    }
+
+    /**
+     * Save dictionary of loaded owners to file
+     * @param file catalog file
+     * @exception IOException when file is not written
+     */
+    public synchronized void save(File file) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeObject(new ArrayList<>(owners));
+            out.writeObject(new ArrayList<>(tables.values()));
+        }
+    }
+
+    /**
+     * Add dictionary of owners saved to file (owners already loaded are kept)
+     * @param file catalog file
+     * @exception IOException when file is not read
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void restore(File file) throws IOException {
+        try (ObjectInputStream in = new CatalogInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            List<String> savedOwners = (List<String>) in.readObject();
+            List<TableInfo> savedTables = (List<TableInfo>) in.readObject();
+            for (String owner : savedOwners) {
+                List<TableInfo> list = new ArrayList<>();
+                for (TableInfo table : savedTables) {
+                    if (table.getOwner().equals(owner)) list.add(table);
+                }
+                add(owner, list);
+            }
+        } catch (ClassNotFoundException | ClassCastException ex) {
+            throw new IOException("Invalid catalog file " + file, ex);
+        }
+    }
+
+    private synchronized void loadOwner(Connection connection, String owner) throws SQLException {
+        if (owners.contains(owner)) return;
+
+        loadTables(connection, owner);
+        loadColumns(connection, owner);
+        loadComments(connection, owner);
+        loadConstraints(connection, owner);
+        loadIndexes(connection, owner);
+
+        owners.add(owner);
+    }
+
+    private PreparedStatement prepare(Connection connection, String sql, String owner) throws SQLException {
+        PreparedStatement pstmt = connection.prepareStatement(sql);
+        pstmt.setFetchSize(FETCH_SIZE);
+        pstmt.setString(1, owner);
+        return pstmt;
+    }
+
+    private void loadTables(Connection connection, String owner) throws SQLException {
+        try (PreparedStatement pstmt = prepare(connection,
+                          "SELECT table_name, num_rows, avg_row_len, blocks "
+                        + "FROM all_tables "
+                        + "WHERE owner = ?", owner);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                String tableName = rs.getString("table_name");
+                tables.put(owner + '.' + tableName, new TableInfo(owner, tableName,
+                        rs.getLong("num_rows"), rs.getLong("avg_row_len"), rs.getLong("blocks")));
+            }
+        }
+    }
+
+    private void loadColumns(Connection connection, String owner) throws SQLException {
+        try (PreparedStatement pstmt = prepare(connection,
+                          "SELECT table_name, column_name, data_type, data_length, data_scale, data_precision, nullable, data_default "
+                        + "FROM all_tab_columns "
+                        + "WHERE owner = ? "
+                        + "ORDER BY table_name, column_id", owner);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                // data_default (LONG) must be read first
+                String dataDefault = rs.getString("data_default");
+                TableInfo table = getTable(owner, rs.getString("table_name"));
+                if (table == null) continue; // view
+                table.columns.add(new ColumnInfo(rs.getString("column_name"), rs.getString("data_type"),
+                        rs.getString("data_length"), rs.getInt("data_scale"), rs.getInt("data_precision"),
+                        !rs.getString("nullable").equals("N"), dataDefault));
+            }
+        }
+    }
+
+    private void loadComments(Connection connection, String owner) throws SQLException {
+        try (PreparedStatement pstmt = prepare(connection,
+                          "SELECT table_name, comments "
+                        + "FROM all_tab_comments "
+                        + "WHERE owner = ? AND comments IS NOT NULL", owner);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                TableInfo table = getTable(owner, rs.getString("table_name"));
+                if (table != null) table.comments = rs.getString("comments");
+            }
+        }
+        try (PreparedStatement pstmt = prepare(connection,
+                          "SELECT table_name, column_name, comments "
+                        + "FROM all_col_comments "
+                        + "WHERE owner = ? AND comments IS NOT NULL", owner);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                TableInfo table = getTable(owner, rs.getString("table_name"));
+                if (table == null) continue;
+                ColumnInfo column = table.getColumn(rs.getString("column_name"));
+                if (column != null) column.comments = rs.getString("comments");
+            }
+        }
+    }
+
+    private void loadConstraints(Connection connection, String owner) throws SQLException {
+        try (PreparedStatement pstmt = prepare(connection,
+                          "SELECT search_condition, constraint_name, constraint_type, table_name, r_owner, r_constraint_name, delete_rule "
+                        + "FROM all_constraints "
+                        + "WHERE owner = ?", owner);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                // search_condition (LONG) must be read first
+                String searchCondition = rs.getString("search_condition");
+                ConstraintInfo constraint = new ConstraintInfo(owner, rs.getString("constraint_name"),
+                        rs.getString("constraint_type"), rs.getString("table_name"), searchCondition,
+                        rs.getString("r_owner"), rs.getString("r_constraint_name"), rs.getString("delete_rule"));
+                constraints.put(owner + '.' + constraint.getName(), constraint);
+                TableInfo table = getTable(owner, constraint.getTableName());
+                if (table != null) table.constraints.add(constraint);
+            }
+        }
+        try (PreparedStatement pstmt = prepare(connection,
+                          "SELECT constraint_name, column_name "
+                        + "FROM all_cons_columns "
+                        + "WHERE owner = ? "
+                        + "ORDER BY constraint_name, position", owner);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                ConstraintInfo constraint = constraints.get(owner + '.' + rs.getString("constraint_name"));
+                if (constraint != null) constraint.columns.add(rs.getString("column_name"));
+            }
+        }
+    }
+
+    private void loadIndexes(Connection connection, String owner) throws SQLException {
+        Map<String, IndexInfo> indexes = new HashMap<>();
+        try (PreparedStatement pstmt = prepare(connection,
+                          "SELECT owner, index_name, index_type, uniqueness, table_name "
+                        + "FROM all_indexes "
+                        + "WHERE table_owner = ?", owner);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                IndexInfo index = new IndexInfo(rs.getString("owner"), rs.getString("index_name"),
+                        rs.getString("index_type"), rs.getString("uniqueness"));
+                indexes.put(index.getOwner() + '.' + index.getName(), index);
+                TableInfo table = getTable(owner, rs.getString("table_name"));
+                if (table != null) table.indexes.add(index);
+            }
+        }
+        try (PreparedStatement pstmt = prepare(connection,
+                          "SELECT index_owner, index_name, column_name "
+                        + "FROM all_ind_columns "
+                        + "WHERE table_owner = ? "
+                        + "ORDER BY index_owner, index_name, column_position", owner);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                IndexInfo index = indexes.get(rs.getString("index_owner") + '.' + rs.getString("index_name"));
+                if (index != null) index.columns.add(rs.getString("column_name"));
+            }
+        }
+    }
+}
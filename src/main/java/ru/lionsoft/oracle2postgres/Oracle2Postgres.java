@@ -9,96 +9,214 @@
 package ru.lionsoft.oracle2postgres;
 
 import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
  * @author Igor Morenko <morenko at lionsoft.ru>
  */
-public class Oracle2Postgres extends Thread {
-    
-    private final TransferContext context;
+public class Oracle2Postgres {
+
+    // Exit codes
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_ERROR = 1;
+    private static final int EXIT_CANCELLED = 130;
+
+    // Wait workers on Ctrl-C (seconds)
+    private static final long CANCEL_TIMEOUT = 30;
+
+    // Context is closed by main thread (shutdown hook waits it before JVM halts)
+    private static final CountDownLatch closed = new CountDownLatch(1);
 
-    public Oracle2Postgres(TransferContext context) {
-        this.context = context;
-    }
-    
     public static void main(String[] args) {
-        if (args.length > 1 || (args.length > 0 && args[0].equals("--help"))) 
+        boolean resume = args.length > 0 && args[0].equals("--resume");
+        int argNo = resume ? 1 : 0;
+        if (args.length > argNo + 1 || (args.length > argNo && args[argNo].startsWith("--"))
+                || (resume && args.length == argNo))
             usage();
-        
+
         TransferContext ctx = new TransferContext();
+        ctx.setResume(resume);
         try {
-            if (args.length > 0) {
-                ctx.readPropertiesFromFile(args[0]);
+            if (args.length > argNo) {
+                ctx.readPropertiesFromFile(args[argNo]);
             } else {
                 ctx.readPropertiesFromConsole();
             }
         } catch (IOException ex) {
             System.err.println("ERROR: " + ex.getLocalizedMessage());
-            return;
+            System.exit(EXIT_ERROR);
         }
         ctx.printParameters();
-        
+
+        int failed = 0;
         try (TransferManager manager = new TransferManager(ctx);) {
             // if all tables
             if (ctx.getTables().isEmpty()) {
                 ctx.setTables(manager.getSchemaTables());
             }
+            manager.loadMetadataCatalog();
+            ctx.saveDumpCatalog();
+            manager.initializeScn();
 
-            manager.extractSchemaDDL();
-
-            ctx.log("Tables of Schema " + ctx.getOwner());
-            ctx.writeDDL("\n--\n-- Tables of Schema " + ctx.getOwner() + "\n--\n");
-
-            ctx.initializeJobs();
-            //...
-            if (ctx.getThreadsNum() > 1) {
-                // TODO: multithread transfer data
-                // run thread
-                Oracle2Postgres[] threads = new Oracle2Postgres[ctx.getThreadsNum() - 1];
-                for (int i = 0; i < ctx.getThreadsNum() - 1; i++) {
-                    threads[i] = new Oracle2Postgres(ctx);
-                    threads[i].start();
-                }
-                // Extract DDL for tables in main thread
-                manager.extractSchemaTablesDDL();
-                // wait stop all threads
-                int alive = threads.length;
-                while (alive > 0) {
-                    alive = 0;
-                    for (int i = 0; i < threads.length; i++) {
-                        Oracle2Postgres thread = threads[i];
-                        if (thread.isAlive()) alive++;
-                    }
-                }
+            if (ctx.isDelta()) {
+                failed = transferDelta(ctx);
             } else {
-                // Extract DDL for tables
-                manager.extractSchemaTablesDDL();
+                failed = transferSchema(ctx, manager);
             }
-            // Extract DDL Foreign Key of tables
-            manager.extractSchemaForeignKeysDDL();
             // End
+            ctx.saveDumpCatalog(); // with owners referenced by foreign keys
+            ctx.writeMetricsReport();
             ctx.log("Finish");
             ctx.writeDDL("\n--\n-- End of Script\n--");
         } catch (Exception ex) {
             ctx.error(ex.getLocalizedMessage());
         }
+
+        int exitCode;
+        if (ctx.isCancelled()) {
+            exitCode = EXIT_CANCELLED;
+        } else if (failed > 0 || ctx.getErrorCount() > 0) {
+            ctx.log("Completed with " + ctx.getErrorCount() + " errors, " + failed + " failed workers");
+            exitCode = EXIT_ERROR;
+        } else {
+            exitCode = EXIT_OK;
+            if (ctx.getStartScn() > 0) {
+                // next delta transfer reads rows changed after this SCN
+                ctx.getJournal().synced(ctx.getStartScn());
+                ctx.log("Synchronized to SCN " + ctx.getStartScn());
+            }
+        }
         ctx.close();
+        closed.countDown();
+        if (exitCode == EXIT_CANCELLED) {
+            // JVM is shutting down by signal (exit code 130), System.exit would block
+            return;
+        }
+        System.exit(exitCode);
     }
-    
+
+    /**
+     * Full transfer: schema, tables, constraints and indexes, foreign keys
+     * @return number of failed workers
+     */
+    private static int transferSchema(TransferContext ctx, TransferManager manager) throws Exception {
+        manager.extractSchemaDDL();
+
+        ctx.log("Tables of Schema " + ctx.getOwner());
+        ctx.writeDDL("\n--\n-- Tables of Schema " + ctx.getOwner() + "\n--\n");
+
+        if (ctx.isParallelForeignKeys()) {
+            manager.initializeForeignKeys();
+        }
+        ctx.initializeJobs();
+
+        // Extract DDL and transfer data of tables in workers
+        int failed = runTableWorkers(ctx);
+
+        if (ctx.isPostLoadIndexes() && !ctx.isCancelled()) {
+            // Constraints and indexes of loaded tables
+            ctx.log("Constraints and Indexes of Schema " + ctx.getOwner());
+            ctx.writeDDL("\n--\n-- Constraints and Indexes of Schema " + ctx.getOwner() + "\n--\n");
+            ctx.initializeJobs(TransferJob.Type.INDEXES);
+            failed += runWorkers(ctx, "Index", ctx.getIndexThreadsNum(), TransferManager::extractSchemaIndexesDDL);
+        }
+
+        if (!ctx.isCancelled()) {
+            if (ctx.isParallelForeignKeys()) {
+                // Foreign keys not started by workers
+                manager.extractRemainingForeignKeysDDL();
+            } else {
+                // Extract DDL Foreign Key of tables
+                manager.extractSchemaForeignKeysDDL();
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Delta transfer: rows changed after previous transfer (tables exist)
+     * @return number of failed workers
+     */
+    private static int transferDelta(TransferContext ctx) {
+        if (ctx.getDeltaFromScn() == 0) {
+            throw new IllegalStateException("SCN of previous transfer is unknown (delta.fromScn or journal.filename)");
+        }
+        ctx.log("Delta of Schema " + ctx.getOwner() + " since SCN " + ctx.getDeltaFromScn());
+        ctx.initializeJobs();
+        return runTableWorkers(ctx);
+    }
+
+    /**
+     * Workers of tables with progress reports (transfer of rows)
+     * @return number of failed workers
+     */
+    private static int runTableWorkers(TransferContext ctx) {
+        TransferProgress progress = ctx.getProgress();
+        if (ctx.isTransferRows()) progress.start(ctx.getProgressInterval());
+        try {
+            return runWorkers(ctx, "Worker", ctx.getThreadsNum(), TransferManager::extractSchemaTablesDDL);
+        } finally {
+            progress.stop();
+        }
+    }
+
     public static void usage() {
         System.out.println("Usage: oracle2postgres [<properties_file>]");
+        System.out.println("       oracle2postgres --resume <properties_file>");
         System.exit(0);
     }
 
-    @Override
-    public void run() {
-        context.log("Thread #" + getId() + ": Start");
-        try (TransferManager manager = new TransferManager(context);) {
-            manager.extractSchemaTablesDDL();
-        } catch (Exception ex) {
-            context.error("Thread #" + getId() + ": " + ex.getLocalizedMessage());
-        } 
-        context.log("Thread #" + getId() + ": Stop");
+    /**
+     * Task of worker with own transfer manager
+     */
+    private interface ManagerTask {
+        void run(TransferManager manager) throws Exception;
+    }
+
+    /**
+     * Run transfer workers (each with own connections) and wait their completion.
+     * Ctrl-C cancels remaining jobs, waits running workers and closing
+     * of context (journal, manifest, metrics report) by main thread.
+     * @param ctx transfer context
+     * @param name name of workers
+     * @param threadsNum number of workers
+     * @param task task of worker
+     * @return number of failed workers
+     */
+    private static int runWorkers(TransferContext ctx, String name, int threadsNum, ManagerTask task) {
+        WorkerPool pool = new WorkerPool(ctx, name, threadsNum);
+        Thread shutdownHook = new Thread(() -> {
+            ctx.warning("Interrupted: cancel transfer");
+            ctx.cancel();
+            pool.cancel(CANCEL_TIMEOUT);
+            try {
+                if (!closed.await(CANCEL_TIMEOUT, TimeUnit.SECONDS)) {
+                    ctx.warning("Transfer context is not closed in " + CANCEL_TIMEOUT + " s");
+                    ctx.flush();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, "Shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        try {
+            for (int i = 0; i < Math.max(threadsNum, 1); i++) {
+                pool.submit(workerNo -> {
+                    try (TransferManager manager = new TransferManager(ctx);) {
+                        manager.setWorkerName(name + " #" + workerNo);
+                        task.run(manager);
+                    }
+                });
+            }
+            return pool.awaitCompletion();
+        } finally {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ex) {
+                // JVM is shutting down
+            }
+        }
     }
 }
@@ -0,0 +1,368 @@
+/*
+ * File:    OracleCodecs.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:46:35 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import oracle.jdbc.OracleResultSet;
+import oracle.jdbc.OracleStatement;
+import oracle.sql.Datum;
+
+/**
+ * Oracle native fetch: integer NUMBER columns are defined as INTEGER or BIGINT
+ * on source statement, other NUMBER, DATE and TIMESTAMP values are read
+ * as raw Oracle bytes and converted directly to COPY text or binary
+ * (no BigDecimal, Timestamp and Calendar per value).
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public final class OracleCodecs {
+
+    // =================== Constructors ===========================
+
+    private OracleCodecs() {
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Define fetch types of integer NUMBER columns (before execute of query)
+     * @param stmt source statement
+     * @param columns columns of select list (same order)
+     * @exception SQLException when statement is not Oracle statement
+     */
+    public static void defineColumnTypes(Statement stmt, List<MetadataCatalog.ColumnInfo> columns) throws SQLException {
+        OracleStatement oracleStmt = stmt.unwrap(OracleStatement.class);
+        int col = 0;
+        for (MetadataCatalog.ColumnInfo column : columns) {
+            col++;
+            if (!column.getDataType().equals("NUMBER") || column.getDataScale() != 0) continue;
+            int precision = column.getDataPrecision();
+            if (precision > 0 && precision <= 9) {
+                oracleStmt.defineColumnType(col, Types.INTEGER);
+            } else if (precision > 9 && precision <= 18) {
+                oracleStmt.defineColumnType(col, Types.BIGINT);
+            }
+        }
+    }
+
+    /**
+     * Codecs by source columns (CSV and insert) with native NUMBER and DATE codecs
+     * @param metaData metadata of source result set
+     * @return codecs of columns
+     * @exception SQLException when metadata is not available
+     */
+    public static ColumnCodec[] forSource(ResultSetMetaData metaData) throws SQLException {
+        return replace(ColumnCodec.forSource(metaData), metaData);
+    }
+
+    /**
+     * Codecs by target columns (binary COPY) with native NUMBER and DATE codecs
+     * @param sourceMetaData metadata of source result set
+     * @param targetMetaData metadata of target table (same order as source select)
+     * @return codecs of columns
+     * @exception SQLException when metadata is not available
+     */
+    public static ColumnCodec[] forTarget(ResultSetMetaData sourceMetaData, ResultSetMetaData targetMetaData) throws SQLException {
+        return replace(ColumnCodec.forTarget(sourceMetaData, targetMetaData), sourceMetaData);
+    }
+
+    // numeric and timestamp codecs of NUMBER, DATE and TIMESTAMP columns are replaced by native codecs
+    private static ColumnCodec[] replace(ColumnCodec[] codecs, ResultSetMetaData sourceMetaData) throws SQLException {
+        for (int i = 0; i < codecs.length; i++) {
+            int sourceType = sourceMetaData.getColumnType(i + 1);
+            if (codecs[i] instanceof ColumnCodec.DecimalCodec
+                    && (sourceType == Types.NUMERIC || sourceType == Types.DECIMAL)) {
+                codecs[i] = new NumberCodec();
+            } else if (codecs[i] instanceof ColumnCodec.TimestampCodec
+                    && (sourceType == Types.DATE || sourceType == Types.TIMESTAMP)) {
+                codecs[i] = new DateCodec();
+            }
+        }
+        return codecs;
+    }
+
+    // =================== NUMBER ====================
+
+    /**
+     * Raw Oracle NUMBER: exponent byte and base 100 digits
+     */
+    static final class RawNumber {
+        final byte[] bytes;
+
+        RawNumber(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(24);
+            appendPlain(bytes, sb);
+            return sb.toString();
+        }
+    }
+
+    private static boolean isNegative(byte[] b) {
+        return (b[0] & 0x80) == 0;
+    }
+
+    // number of base 100 digits (without terminator 102 of negative number)
+    private static int digitCount(byte[] b) {
+        int n = b.length - 1;
+        if (isNegative(b) && n > 0 && (b[b.length - 1] & 0xFF) == 102) n--;
+        return n;
+    }
+
+    // power of 100 of first digit
+    private static int power(byte[] b) {
+        int exp = b[0] & 0xFF;
+        if (isNegative(b)) exp = ~exp & 0xFF;
+        return (exp & 0x7F) - 65;
+    }
+
+    // base 100 digit (index from 1)
+    private static int digit(byte[] b, int i) {
+        int v = b[i] & 0xFF;
+        return isNegative(b) ? 101 - v : v - 1;
+    }
+
+    private static boolean isZero(byte[] b) {
+        return b.length == 1 && (b[0] & 0xFF) == 0x80;
+    }
+
+    // +Infinity (0xFF 0x65) or -Infinity (0x00)
+    private static int infinity(byte[] b) {
+        if (b.length == 1 && b[0] == 0) return -1;
+        if (b.length == 2 && (b[0] & 0xFF) == 0xFF && b[1] == 101) return 1;
+        return 0;
+    }
+
+    /**
+     * Append NUMBER as plain decimal text
+     * @param b raw NUMBER
+     * @param sb text
+     */
+    static void appendPlain(byte[] b, StringBuilder sb) {
+        if (isZero(b)) {
+            sb.append('0');
+            return;
+        }
+        int inf = infinity(b);
+        if (inf != 0) {
+            sb.append(inf < 0 ? "-Infinity" : "Infinity");
+            return;
+        }
+        if (isNegative(b)) sb.append('-');
+        int power = power(b);
+        int n = digitCount(b);
+        int last = power - n + 1; // power of last digit
+        if (power < 0) {
+            sb.append("0.");
+            for (int p = -1; p > power; p--) sb.append("00");
+        }
+        for (int i = 0; i < n; i++) {
+            int p = power - i;
+            int d = digit(b, i + 1);
+            if (p == -1 && power >= 0) sb.append('.');
+            if (i == 0 && power >= 0) {
+                sb.append(d); // no leading zero
+            } else if (p == last && p < 0 && d % 10 == 0) {
+                sb.append((char) ('0' + d / 10)); // no trailing zero
+            } else {
+                sb.append((char) ('0' + d / 10)).append((char) ('0' + d % 10));
+            }
+        }
+        for (int p = last - 1; p >= 0; p--) sb.append("00");
+    }
+
+    /**
+     * Write NUMBER as binary numeric: base 100 digits are packed by pairs to base 10000 digits
+     * @param b raw NUMBER
+     * @param groups buffer of base 10000 digits
+     * @param out output stream
+     * @exception IOException when write error
+     */
+    static void writeNumeric(byte[] b, short[] groups, DataOutputStream out) throws IOException {
+        int inf = infinity(b);
+        if (isZero(b) || inf != 0) {
+            out.writeInt(8);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(inf == 0 ? BinaryCopyEncoder.NUMERIC_POS
+                    : inf < 0 ? BinaryCopyEncoder.NUMERIC_NINF : BinaryCopyEncoder.NUMERIC_PINF);
+            out.writeShort(0);
+            return;
+        }
+        int power = power(b);
+        int n = digitCount(b);
+        int last = power - n + 1;
+        int weight = Math.floorDiv(power, 2);
+        int ndigits = weight - Math.floorDiv(last, 2) + 1;
+        for (int g = 0; g < ndigits; g++) groups[g] = 0;
+        for (int i = 0; i < n; i++) {
+            int p = power - i;
+            int d = digit(b, i + 1);
+            groups[weight - Math.floorDiv(p, 2)] += Math.floorMod(p, 2) == 1 ? d * 100 : d;
+        }
+        int dscale = last < 0 ? -2 * last - (digit(b, n) % 10 == 0 ? 1 : 0) : 0;
+
+        out.writeInt(8 + ndigits * 2);
+        out.writeShort(ndigits);
+        out.writeShort(weight);
+        out.writeShort(isNegative(b) ? BinaryCopyEncoder.NUMERIC_NEG : BinaryCopyEncoder.NUMERIC_POS);
+        out.writeShort(dscale);
+        for (int g = 0; g < ndigits; g++) {
+            out.writeShort(groups[g]);
+        }
+    }
+
+    // =================== DATE and TIMESTAMP ====================
+
+    // year of raw DATE (negative - BC)
+    private static int year(byte[] b) {
+        return ((b[0] & 0xFF) - 100) * 100 + ((b[1] & 0xFF) - 100);
+    }
+
+    private static int nanos(byte[] b) {
+        if (b.length < 11) return 0;
+        return ((b[7] & 0xFF) << 24) | ((b[8] & 0xFF) << 16) | ((b[9] & 0xFF) << 8) | (b[10] & 0xFF);
+    }
+
+    // days from 1970-01-01 of proleptic Gregorian date (astronomical year)
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yoe = y - era * 400;
+        int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097L + doe - 719468;
+    }
+
+    /**
+     * Append DATE or TIMESTAMP as text (YYYY-MM-DD HH24:MI:SS[.US][ BC])
+     * @param b raw DATE (7 bytes) or TIMESTAMP (11 bytes)
+     * @param sb text
+     */
+    static void appendTimestamp(byte[] b, StringBuilder sb) {
+        int year = year(b);
+        ColumnCodec.appendTimestamp(year < 0 ? year + 1 : year, b[2], b[3], b[4] - 1, b[5] - 1, b[6] - 1,
+                nanos(b), sb);
+    }
+
+    // wall time of DATE or TIMESTAMP as microseconds from PostgreSQL epoch
+    static long timestampMicros(byte[] b) {
+        int year = year(b);
+        long day = epochDay(year < 0 ? year + 1 : year, b[2], b[3]);
+        int second = (b[4] - 1) * 3600 + (b[5] - 1) * 60 + (b[6] - 1);
+        return BinaryCopyEncoder.timestampMicros(day, second, nanos(b));
+    }
+
+    static LocalDateTime toLocalDateTime(byte[] b) {
+        int year = year(b);
+        return LocalDateTime.of(year < 0 ? year + 1 : year, b[2], b[3], b[4] - 1, b[5] - 1, b[6] - 1, nanos(b));
+    }
+
+    // =================== Codecs ====================
+
+    /**
+     * Codec of raw Oracle value: result set is unwrapped once
+     */
+    abstract static class RawCodec extends ColumnCodec {
+        private ResultSet source;
+        private OracleResultSet oracleRs;
+
+        RawCodec(int sqlType) {
+            super(sqlType);
+        }
+
+        protected byte[] readBytes(ResultSet rs, int col) throws SQLException {
+            if (rs != source) {
+                oracleRs = rs.unwrap(OracleResultSet.class);
+                source = rs;
+            }
+            Datum datum = oracleRs.getOracleObject(col);
+            return datum == null ? null : datum.getBytes();
+        }
+    }
+
+    // NUMBER: value is RawNumber (text of key in checkpoint)
+    static final class NumberCodec extends RawCodec {
+        private final short[] groups = new short[12]; // 20 base 100 digits
+
+        NumberCodec() {
+            super(Types.NUMERIC);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            byte[] bytes = readBytes(rs, col);
+            return bytes == null ? null : new RawNumber(bytes);
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            appendPlain(((RawNumber) val).bytes, line);
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            writeNumeric(((RawNumber) val).bytes, groups, out);
+        }
+
+        @Override
+        public void bind(PreparedStatement pstmt, int index, Object val) throws SQLException {
+            if (val == null) {
+                super.bind(pstmt, index, null);
+            } else {
+                pstmt.setBigDecimal(index, new BigDecimal(val.toString()));
+            }
+        }
+    }
+
+    // DATE, TIMESTAMP: value is raw bytes, wall time without time zone
+    static final class DateCodec extends RawCodec {
+        DateCodec() {
+            super(Types.TIMESTAMP);
+        }
+
+        @Override
+        public Object read(ResultSet rs, int col) throws SQLException {
+            return readBytes(rs, col);
+        }
+
+        @Override
+        public void writeCsv(Object val, StringBuilder line, DataOutputStream out) {
+            OracleCodecs.appendTimestamp((byte[]) val, line);
+        }
+
+        @Override
+        public void writeBinary(Object val, DataOutputStream out) throws IOException {
+            out.writeInt(8);
+            out.writeLong(timestampMicros((byte[]) val));
+        }
+
+        @Override
+        public void bind(PreparedStatement pstmt, int index, Object val) throws SQLException {
+            if (val == null) {
+                super.bind(pstmt, index, null);
+            } else {
+                pstmt.setObject(index, toLocalDateTime((byte[]) val));
+            }
+        }
+    }
+}
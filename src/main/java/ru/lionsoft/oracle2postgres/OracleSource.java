@@ -0,0 +1,119 @@
+/*
+ * File:    OracleSource.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:58:05 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Source Oracle database (thin driver)
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class OracleSource implements TransferSource {
+
+    // =================== Constants ====================
+
+    private final static String ORACLE_DRIVER = "oracle.jdbc.OracleDriver";
+
+    // =================== Fields ====================
+
+    private final TransferContext ctx;
+    private Connection connection;
+
+    // =================== Constructors ===========================
+
+    public OracleSource(TransferContext ctx) throws ClassNotFoundException, SQLException {
+        this.ctx = ctx;
+
+        Class.forName(ORACLE_DRIVER);
+        String url = "jdbc:oracle:thin:@" + ctx.getSrcHost() + ':' + ctx.getSrcPort() + ':' + ctx.getSrcDatabase();
+        ctx.log("-- Source URL: " + url);
+        Properties properties = new Properties();
+        properties.setProperty("user", ctx.getSrcUsername());
+        properties.setProperty("password", ctx.getSrcPassword());
+        // LOB data prefetched with locator (smaller LOB without extra round trips)
+        properties.setProperty("oracle.jdbc.defaultLobPrefetchSize", String.valueOf(ctx.getLobPrefetchSize()));
+        connection = DriverManager.getConnection(url, properties);
+        ctx.log("Connecting to source database");
+    }
+
+    // =================== Getters and Setters ====================
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    @Override
+    public Set<String> getTables(String owner) throws SQLException {
+        Set<String> tables = new TreeSet<>();
+
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                          "SELECT table_name "
+                        + "FROM all_tables "
+                        + "WHERE owner = ?")) {
+            pstmt.setString(1, owner);
+            // table of Schema
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+            }
+        }
+
+        return tables;
+    }
+
+    @Override
+    public void loadCatalog(MetadataCatalog catalog, String owner) throws SQLException {
+        catalog.load(connection, owner);
+    }
+
+    @Override
+    public ResultSet openRows(String owner, String tableName, List<MetadataCatalog.ColumnInfo> columns,
+            String sql, int fetchSize) throws SQLException {
+        Statement stmt = connection.createStatement();
+        try {
+            stmt.setFetchSize(fetchSize);
+            if (ctx.isOracleFetch()) {
+                OracleCodecs.defineColumnTypes(stmt, columns);
+            }
+            stmt.closeOnCompletion();
+            return stmt.executeQuery(sql);
+        } catch (SQLException ex) {
+            stmt.close();
+            throw ex;
+        }
+    }
+
+    // Disconnect from database
+    @Override
+    public void close() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ex) {
+                ctx.error(ex.getLocalizedMessage());
+            }
+            connection = null;
+            ctx.log("Disconnect from source database");
+        }
+    }
+}
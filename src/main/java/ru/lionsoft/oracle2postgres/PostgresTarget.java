@@ -0,0 +1,108 @@
+/*
+ * File:    PostgresTarget.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:58:05 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+
+/**
+ * Target PostgreSQL database: COPY by copy manager of connection
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class PostgresTarget implements TransferTarget {
+
+    // =================== Constants ====================
+
+    private final static String POSTGRES_DRIVER = "org.postgresql.Driver";
+
+    // =================== Fields ====================
+
+    private final TransferContext ctx;
+    private Connection connection;
+    private CopyManager copyManager;
+
+    // =================== Constructors ===========================
+
+    public PostgresTarget(TransferContext ctx) throws ClassNotFoundException, SQLException {
+        this.ctx = ctx;
+
+        Class.forName(POSTGRES_DRIVER);
+        String url = "jdbc:postgresql://" + ctx.getDestHost() + ':' + ctx.getDestPort() + '/' + ctx.getDestDatabase();
+        ctx.log("-- Target URL: " + url);
+        connection = DriverManager.getConnection(url, ctx.getDestUsername(), ctx.getDestPassword());
+        ctx.log("Connecting to target database");
+    }
+
+    // =================== Getters and Setters ====================
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    @Override
+    public Copy copyIn(String table, String sql) throws SQLException {
+        if (copyManager == null) {
+            copyManager = new CopyManager((BaseConnection) connection);
+        }
+        CopyIn copyIn = copyManager.copyIn(sql);
+        return new Copy() {
+            @Override
+            public void writeToCopy(byte[] b, int off, int len) throws SQLException {
+                copyIn.writeToCopy(b, off, len);
+            }
+
+            @Override
+            public long endCopy(long rowCount) throws SQLException {
+                return copyIn.endCopy();
+            }
+
+            @Override
+            public void cancelCopy() throws SQLException {
+                copyIn.cancelCopy();
+            }
+
+            @Override
+            public boolean isActive() {
+                return copyIn.isActive();
+            }
+        };
+    }
+
+    @Override
+    public void finish() {
+        // rows are committed by transfer
+    }
+
+    @Override
+    public void discard() {
+        // rows are rolled back by transfer
+    }
+
+    // Disconnect from database
+    @Override
+    public void close() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ex) {
+                ctx.error(ex.getLocalizedMessage());
+            }
+            connection = null;
+            ctx.log("Disconnect from target database");
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * File:    SyntheticResultSet.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:52:58 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * In-memory result set of generated rows (synthetic source and benchmarks
+ * without database). Column ID is number of row, values of other columns
+ * are generated once and repeated in cycle. Columns are Oracle columns
+ * of type mix: numeric, text or mixed (typical Oracle tables).
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class SyntheticResultSet implements InvocationHandler {
+
+    // =================== Constants ====================
+
+    private static final int DISTINCT_ROWS = 1024; // values of rows are repeated in cycle
+
+    private static final String[] WORDS = {
+        "alpha", "beta", "gamma", "delta", "Moscow", "\u041c\u043e\u0441\u043a\u0432\u0430", "quote\"d", "comma,separated", "line\nbreak", "tab\tvalue"
+    };
+
+    // =================== Fields ====================
+
+    private final List<MetadataCatalog.ColumnInfo> columns;
+    private final long rowCount;
+    private final Object[][] values;
+    private long row;
+    private int fetchSize;
+    private boolean lastNull;
+    private boolean closed;
+
+    // =================== Constructors ===========================
+
+    private SyntheticResultSet(List<MetadataCatalog.ColumnInfo> columns, long rowCount, double nullRatio, long seed) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+        Random random = new Random(seed);
+        values = new Object[(int) Math.max(1, Math.min(DISTINCT_ROWS, rowCount))][columns.size()];
+        for (Object[] rowValues : values) {
+            for (int i = 0; i < rowValues.length; i++) {
+                MetadataCatalog.ColumnInfo column = columns.get(i);
+                rowValues[i] = column.isNullable() && random.nextDouble() < nullRatio ? null : value(column, random);
+            }
+        }
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Result set of generated rows
+     * @param columns columns of table
+     * @param rowCount number of rows (Long.MAX_VALUE - rows without end)
+     * @param nullRatio part of null values of nullable columns
+     * @param seed seed of generator
+     * @return result set
+     */
+    public static ResultSet create(List<MetadataCatalog.ColumnInfo> columns, long rowCount, double nullRatio, long seed) {
+        return (ResultSet) Proxy.newProxyInstance(SyntheticResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, new SyntheticResultSet(columns, rowCount, nullRatio, seed));
+    }
+
+    /**
+     * Columns of table: ID and columns of type mix
+     * @param mix type mix: numeric, text or mixed
+     * @param width number of columns
+     * @return columns
+     * @exception SQLException when type mix is unknown
+     */
+    public static List<MetadataCatalog.ColumnInfo> columns(String mix, int width) throws SQLException {
+        List<MetadataCatalog.ColumnInfo> columns = new ArrayList<>();
+        columns.add(new MetadataCatalog.ColumnInfo("ID", "NUMBER", "22", 0, 18, false, null));
+        for (int i = 1; i < width; i++) {
+            switch (mix) {
+                case "numeric":
+                    switch (i % 4) {
+                        case 0: columns.add(number("REF_ID" + i, 9, 0)); break;
+                        case 1: columns.add(number("AMOUNT" + i, 12, 2)); break;
+                        case 2: columns.add(number("COUNT" + i, 18, 0)); break;
+                        default: columns.add(number("RATE" + i, 15, 4));
+                    }
+                    break;
+                case "text":
+                    columns.add(varchar(i % 2 == 0 ? "NAME" + i : "TEXT" + i, i % 2 == 0 ? 100 : 1000));
+                    break;
+                case "mixed":
+                    switch (i % 6) {
+                        case 0: columns.add(number("REF_ID" + i, 9, 0)); break;
+                        case 1: columns.add(number("AMOUNT" + i, 12, 2)); break;
+                        case 2: columns.add(varchar("NAME" + i, 40)); break;
+                        case 3: columns.add(new MetadataCatalog.ColumnInfo("CREATED" + i, "DATE", "7", 0, 0, true, null)); break;
+                        case 4: columns.add(varchar("DESCRIPTION" + i, 200)); break;
+                        default: columns.add(new MetadataCatalog.ColumnInfo("WEIGHT" + i, "BINARY_DOUBLE", "8", 0, 0, true, null));
+                    }
+                    break;
+                default:
+                    throw new SQLException("Unknown synthetic mix '" + mix + "'");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Metadata of target table (PostgreSQL type names of columns)
+     * @param columns columns of table
+     * @return metadata
+     */
+    public static ResultSetMetaData targetMetaData(List<MetadataCatalog.ColumnInfo> columns) {
+        return metaData(columns, true);
+    }
+
+    private static MetadataCatalog.ColumnInfo number(String name, int precision, int scale) {
+        return new MetadataCatalog.ColumnInfo(name, "NUMBER", "22", scale, precision, true, null);
+    }
+
+    private static MetadataCatalog.ColumnInfo varchar(String name, int length) {
+        return new MetadataCatalog.ColumnInfo(name, "VARCHAR2", String.valueOf(length), 0, 0, true, null);
+    }
+
+    // JDBC type of Oracle column as reported by Oracle driver
+    private static int sqlType(MetadataCatalog.ColumnInfo column) {
+        switch (column.getDataType()) {
+            case "NUMBER": return Types.NUMERIC;
+            case "VARCHAR2": return Types.VARCHAR;
+            case "DATE": return Types.TIMESTAMP;
+            case "BINARY_DOUBLE": return Types.DOUBLE;
+            default: return Types.VARCHAR;
+        }
+    }
+
+    // PostgreSQL type of target column
+    private static String targetType(MetadataCatalog.ColumnInfo column) {
+        switch (column.getDataType()) {
+            case "NUMBER":
+                if (column.getDataScale() != 0 || column.getDataPrecision() <= 0 || column.getDataPrecision() > 18) {
+                    return "numeric";
+                }
+                return column.getDataPrecision() <= 9 ? "int4" : "int8";
+            case "DATE": return "timestamp";
+            case "BINARY_DOUBLE": return "float8";
+            default: return "varchar";
+        }
+    }
+
+    // Generated value of column
+    private static Object value(MetadataCatalog.ColumnInfo column, Random random) {
+        switch (column.getDataType()) {
+            case "NUMBER":
+                long number = (long) (random.nextDouble() * Math.pow(10, Math.min(column.getDataPrecision(), 15)));
+                return column.getDataScale() == 0 ? (Object) number : BigDecimal.valueOf(number, column.getDataScale());
+            case "DATE":
+                return new Timestamp(946684800000L + (random.nextLong() & 0xFFFFFFFFFFL) / 1000 * 1000);
+            case "BINARY_DOUBLE":
+                return random.nextDouble();
+            default:
+                int maxLength = Integer.parseInt(column.getDataLength());
+                StringBuilder sb = new StringBuilder();
+                int length = 1 + random.nextInt(maxLength);
+                while (sb.length() < length) {
+                    if (sb.length() > 0) sb.append(' ');
+                    sb.append(WORDS[random.nextInt(WORDS.length)]);
+                }
+                return sb.length() > maxLength ? sb.substring(0, maxLength) : sb.toString();
+        }
+    }
+
+    private static ResultSetMetaData metaData(List<MetadataCatalog.ColumnInfo> columns, boolean target) {
+        return (ResultSetMetaData) Proxy.newProxyInstance(SyntheticResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSetMetaData.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("getColumnCount")) return columns.size();
+                    MetadataCatalog.ColumnInfo column = columns.get((Integer) args[0] - 1);
+                    switch (method.getName()) {
+                        case "getColumnName":
+                        case "getColumnLabel":
+                            return column.getName();
+                        case "getColumnType":
+                            return sqlType(column);
+                        case "getColumnTypeName":
+                            return target ? targetType(column) : column.getDataType();
+                        case "getPrecision":
+                            return column.getDataPrecision();
+                        case "getScale":
+                            return column.getDataScale();
+                        default:
+                            throw new SQLFeatureNotSupportedException(method.getName());
+                    }
+                });
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "next":
+                if (row >= rowCount) return false;
+                row++;
+                return true;
+            case "wasNull":
+                return lastNull;
+            case "getMetaData":
+                return metaData(columns, false);
+            case "getFetchSize":
+                return fetchSize;
+            case "setFetchSize":
+                fetchSize = (Integer) args[0];
+                return null;
+            case "close":
+                closed = true;
+                return null;
+            case "isClosed":
+                return closed;
+            default:
+        }
+        if (!method.getName().startsWith("get") || args == null || !(args[0] instanceof Integer)) {
+            throw new SQLFeatureNotSupportedException(method.getName());
+        }
+        int col = (Integer) args[0] - 1;
+        Object val = columns.get(col).getName().equals("ID")
+                ? (Object) row : values[(int) ((row - 1) % values.length)][col];
+        lastNull = val == null;
+        Class<?> type = method.getReturnType();
+        if (type == int.class) return val == null ? 0 : ((Number) val).intValue();
+        if (type == long.class) return val == null ? 0L : ((Number) val).longValue();
+        if (type == short.class) return val == null ? (short) 0 : ((Number) val).shortValue();
+        if (type == double.class) return val == null ? 0d : ((Number) val).doubleValue();
+        if (type == float.class) return val == null ? 0f : ((Number) val).floatValue();
+        if (type == boolean.class) return val != null && ((Number) val).intValue() != 0;
+        if (val == null) return null;
+        if (type == String.class) return val instanceof BigDecimal ? ((BigDecimal) val).toPlainString() : val.toString();
+        if (type == BigDecimal.class) return val instanceof BigDecimal ? val : new BigDecimal(val.toString());
+        if (type == Date.class) return new Date(((Timestamp) val).getTime());
+        return val; // getTimestamp, getObject
+    }
+}
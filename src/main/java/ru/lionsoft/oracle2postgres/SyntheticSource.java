@@ -0,0 +1,99 @@
+/*
+ * File:    SyntheticSource.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:58:05 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Source without database: tables SYNTHETIC_1 .. SYNTHETIC_N with generated rows
+ * (synthetic.rows rows of synthetic.columns columns of type mix synthetic.mix),
+ * so full transfer (workers, pipeline, encoders, target) is measured without Oracle.
+ * First column is numeric primary key ID, other columns cycle by type mix:
+ * numeric, text or mixed. Query conditions (where, chunks) are not applied.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class SyntheticSource implements TransferSource {
+
+    // =================== Constants ====================
+
+    private static final String TABLE_PREFIX = "SYNTHETIC_";
+    private static final double NULL_RATIO = 0.05;
+
+    // =================== Fields ====================
+
+    private final TransferContext ctx;
+
+    // =================== Constructors ===========================
+
+    public SyntheticSource(TransferContext ctx) {
+        this.ctx = ctx;
+        ctx.log("Synthetic source: " + ctx.getSyntheticRows() + " rows of " + ctx.getSyntheticColumns()
+                + " columns (" + ctx.getSyntheticMix() + ")");
+    }
+
+    // =================== Getters and Setters ====================
+
+    @Override
+    public Connection getConnection() {
+        return null;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    @Override
+    public Set<String> getTables(String owner) {
+        Set<String> tables = new TreeSet<>();
+        for (int i = 1; i <= ctx.getSyntheticTables(); i++) {
+            tables.add(TABLE_PREFIX + i);
+        }
+        return tables;
+    }
+
+    @Override
+    public void loadCatalog(MetadataCatalog catalog, String owner) throws SQLException {
+        if (catalog.isLoaded(owner)) return;
+        Set<String> tableNames = ctx.getTables().isEmpty() ? getTables(owner) : ctx.getTables();
+        List<MetadataCatalog.TableInfo> tables = new ArrayList<>();
+        for (String tableName : tableNames) {
+            List<MetadataCatalog.ColumnInfo> columns = SyntheticResultSet.columns(ctx.getSyntheticMix(), ctx.getSyntheticColumns());
+            long avgRowLen = 0;
+            for (MetadataCatalog.ColumnInfo column : columns) {
+                avgRowLen += column.getDataType().startsWith("VARCHAR2")
+                        ? Integer.parseInt(column.getDataLength()) / 2 : 8;
+            }
+            MetadataCatalog.TableInfo table = new MetadataCatalog.TableInfo(owner, tableName,
+                    ctx.getSyntheticRows(), avgRowLen, 0);
+            table.getColumns().addAll(columns);
+            MetadataCatalog.ConstraintInfo primaryKey = new MetadataCatalog.ConstraintInfo(owner,
+                    tableName + "_PK", "P", tableName, null, null, null, null);
+            primaryKey.getColumns().add("ID");
+            table.getConstraints().add(primaryKey);
+            tables.add(table);
+        }
+        catalog.add(owner, tables);
+    }
+
+    @Override
+    public ResultSet openRows(String owner, String tableName, List<MetadataCatalog.ColumnInfo> columns,
+            String sql, int fetchSize) {
+        return SyntheticResultSet.create(columns, ctx.getSyntheticRows(), NULL_RATIO, tableName.hashCode());
+    }
+
+    @Override
+    public void close() {
+        // nothing
+    }
+}
@@ -8,19 +8,25 @@
  */
 package ru.lionsoft.oracle2postgres;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  *
@@ -28,9 +34,16 @@ import java.util.TreeSet;
  */
 public class TransferContext {
     
+    // =================== Constants ====================
+
+    private static final long ORACLE_BLOCK_SIZE = 8192;
+    private static final int OUTPUT_BUFFER_SIZE = 65536;
+
     // =================== Fields ====================
 
     // Source Database
+    private String sourceType = "oracle"; // oracle, synthetic, dump
+    private String sourceDirectory; // dump
     private String srcHost;
     private String srcPort;
     private String srcDatabase;
@@ -38,6 +51,12 @@ public class TransferContext {
     private String srcPassword;
 
     // Destination Database
+    private String targetType = "postgres"; // postgres, file, dump, null
+    private String targetDirectory;
+    private String dumpCompression = "gzip"; // gzip, none
+    private int dumpCompressionLevel;
+    private long dumpFileSize; // MB, 0 - no rotation
+    private DumpManifest dumpManifest;
     private String destHost;
     private String destPort;
     private String destDatabase;
@@ -47,24 +66,82 @@ public class TransferContext {
     // Object for transfer
     private String owner;
     private Set<String> tables = new TreeSet<>();
-    private final List<String> jobs = new LinkedList<>();
+    private final Deque<TransferJob> jobs = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger runningJobs = new AtomicInteger(); // jobs can add jobs (chunks, foreign keys)
+    private final MetadataCatalog catalog = new MetadataCatalog();
+    private final Map<String, AtomicInteger> pendingChunks = new ConcurrentHashMap<>();
+    private volatile ForeignKeyScheduler foreignKeys;
+    private final TransferJournal journal = new TransferJournal();
+    private final TransferMetrics metrics = new TransferMetrics();
+    private final TransferProgress progress = new TransferProgress(this);
     
     // Transfer options
     private int sampleRows;
+    private String sampleMode; // first, random or block
     private int chunkSize;
+    private long batchBytes; // 0 - fixed chunkSize rows
+    private final Properties tableOptions = new Properties(); // table.<TABLE>.<option>
     private boolean createSchema = false;
     private boolean createTable = false;
     private boolean transferRows = false;
     private int threadsNum;
+    private boolean virtualThreads = false;
+    private boolean postLoadIndexes = false;
+    private boolean parallelForeignKeys = false;
+    private int indexThreadsNum;
+    private String indexMaintenanceWorkMem;
+    private int indexParallelWorkers;
+    private String jobOrder = "size"; // size, name
+    private boolean rebalance = false;
+    private String splitMode = "none"; // none, rowid, pk
+    private long splitMinRows;
+    private int splitChunks;
+    private String copyFormat = "csv"; // csv, binary
+    private boolean copyStream = false;
+    private int commitRows;
+    private boolean pipeline = false;
+    private int pipelineDepth;
+    private String journalFilename;
+    private boolean resume = false;
+    private boolean delta = false;
+    private long deltaFromScn; // 0 - SCN of last completed transfer from journal
+    private boolean deltaDeletes = false;
+    private volatile long startScn;
+    private boolean snapshot = false;
+    private boolean lobInsert = false;
+    private int lobPrefetchSize;
+    private boolean oracleFetch = false;
+    private int progressInterval; // seconds, 0 - no progress
+
+    // Synthetic source
+    private int syntheticTables;
+    private long syntheticRows;
+    private int syntheticColumns;
+    private String syntheticMix = "mixed"; // numeric, text, mixed
     
     // Output streams
     private PrintStream ddlStream = System.out;
     private PrintStream logStream = System.out;
+    private String logFilename; // null - stdout
+    private final LogWriter writer = new LogWriter();
+    private final ThreadLocal<StringBuilder> ddlBlock = new ThreadLocal<>(); // DDL of current job
+
+    // State of run
+    private volatile boolean cancelled = false;
+    private final AtomicInteger errorCount = new AtomicInteger();
     
     // =================== Constructors ===========================
 
     // =================== Getters and Setters ====================
 
+    public String getSourceType() {
+        return sourceType;
+    }
+
+    public String getSourceDirectory() {
+        return sourceDirectory;
+    }
+
     public String getSrcHost() {
         return srcHost;
     }
@@ -85,6 +162,30 @@ public class TransferContext {
         return srcPassword;
     }
 
+    public String getTargetType() {
+        return targetType;
+    }
+
+    public String getTargetDirectory() {
+        return targetDirectory;
+    }
+
+    public String getDumpCompression() {
+        return dumpCompression;
+    }
+
+    public int getDumpCompressionLevel() {
+        return dumpCompressionLevel;
+    }
+
+    public long getDumpFileSize() {
+        return dumpFileSize;
+    }
+
+    public DumpManifest getDumpManifest() {
+        return dumpManifest;
+    }
+
     public String getDestHost() {
         return destHost;
     }
@@ -113,14 +214,104 @@ public class TransferContext {
         return sampleRows;
     }
 
+    public String getSampleMode() {
+        return sampleMode;
+    }
+
     public int getChunkSize() {
         return chunkSize;
     }
 
+    public long getBatchBytes() {
+        return batchBytes;
+    }
+
+    /**
+     * Option of table (property table.&lt;TABLE&gt;.&lt;option&gt;)
+     * @param tableName table name
+     * @param option option name
+     * @return value or null
+     */
+    public String getTableOption(String tableName, String option) {
+        return tableOptions.getProperty("table." + tableName + '.' + option);
+    }
+
     public int getThreadsNum() {
         return threadsNum;
     }
 
+    public boolean isPostLoadIndexes() {
+        return postLoadIndexes;
+    }
+
+    public boolean isParallelForeignKeys() {
+        return parallelForeignKeys;
+    }
+
+    public int getIndexThreadsNum() {
+        return indexThreadsNum;
+    }
+
+    public String getIndexMaintenanceWorkMem() {
+        return indexMaintenanceWorkMem;
+    }
+
+    public int getIndexParallelWorkers() {
+        return indexParallelWorkers;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public int getErrorCount() {
+        return errorCount.get();
+    }
+
+    public String getJobOrder() {
+        return jobOrder;
+    }
+
+    public boolean isRebalance() {
+        return rebalance;
+    }
+
+    public String getSplitMode() {
+        return splitMode;
+    }
+
+    public long getSplitMinRows() {
+        return splitMinRows;
+    }
+
+    public int getSplitChunks() {
+        return splitChunks;
+    }
+
+    public String getCopyFormat() {
+        return copyFormat;
+    }
+
+    public boolean isCopyStream() {
+        return copyStream;
+    }
+
+    public int getCommitRows() {
+        return commitRows;
+    }
+
+    public boolean isPipeline() {
+        return pipeline;
+    }
+
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
     public boolean isCreateSchema() {
         return createSchema;
     }
@@ -140,6 +331,101 @@ public class TransferContext {
     public void setTables(Set<String> tables) {
         this.tables = tables;
     }
+
+    public MetadataCatalog getCatalog() {
+        return catalog;
+    }
+
+    public ForeignKeyScheduler getForeignKeys() {
+        return foreignKeys;
+    }
+
+    public void setForeignKeys(ForeignKeyScheduler foreignKeys) {
+        this.foreignKeys = foreignKeys;
+    }
+
+    public TransferJournal getJournal() {
+        return journal;
+    }
+
+    public TransferMetrics getMetrics() {
+        return metrics;
+    }
+
+    public TransferProgress getProgress() {
+        return progress;
+    }
+
+    public int getProgressInterval() {
+        return progressInterval;
+    }
+
+    public boolean isResume() {
+        return resume;
+    }
+
+    public void setResume(boolean resume) {
+        this.resume = resume;
+    }
+
+    public boolean isDelta() {
+        return delta;
+    }
+
+    public long getDeltaFromScn() {
+        return deltaFromScn > 0 ? deltaFromScn : journal.getSyncScn();
+    }
+
+    public boolean isDeltaDeletes() {
+        return deltaDeletes;
+    }
+
+    public long getStartScn() {
+        return startScn;
+    }
+
+    public void setStartScn(long startScn) {
+        this.startScn = startScn;
+    }
+
+    public boolean isLobInsert() {
+        return lobInsert;
+    }
+
+    public int getLobPrefetchSize() {
+        return lobPrefetchSize;
+    }
+
+    public boolean isOracleFetch() {
+        return oracleFetch;
+    }
+
+    public int getSyntheticTables() {
+        return syntheticTables;
+    }
+
+    public long getSyntheticRows() {
+        return syntheticRows;
+    }
+
+    public int getSyntheticColumns() {
+        return syntheticColumns;
+    }
+
+    public String getSyntheticMix() {
+        return syntheticMix;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return SCN of consistent snapshot of source (0 - current data)
+     */
+    public long getSnapshotScn() {
+        return snapshot ? startScn : 0;
+    }
     
     // ========== Equals Objects ==================
 
@@ -186,10 +472,34 @@ public class TransferContext {
             createTable = inputYesNo("- Create target tables (default: 'no'): ", "no");
         }
         transferRows = inputYesNo("- Transfer rows to target tables (default: 'no'): ", "no");
+        indexParallelWorkers = -1;
         if (transferRows) {
             sampleRows  = Integer.parseInt(input("- Sample rows for transfer (default: 200): ", "200"));
+            sampleMode = "first";
             chunkSize   = Integer.parseInt(input("- Chunk size for transfer (default: 1000): ", "1000"));
             threadsNum = Integer.parseInt(input("- Treads number (default: 1): ", "1"));
+            postLoadIndexes = inputYesNo("- Create indexes and constraints after load (default: 'no'): ", "no");
+            parallelForeignKeys = inputYesNo("- Create foreign keys in parallel (default: 'no'): ", "no");
+            if (postLoadIndexes) {
+                indexThreadsNum = Integer.parseInt(input("- Treads number for indexes (default: " + threadsNum + "): ", String.valueOf(threadsNum)));
+                indexMaintenanceWorkMem = input("- maintenance_work_mem for indexes (default: server): ", null);
+            }
+            jobOrder = input("- Order of tables by size or name (default: 'size'): ", "size").toLowerCase();
+            splitMode = input("- Split large tables by rowid, pk or none (default: 'none'): ", "none").toLowerCase();
+            if (!splitMode.equals("none")) {
+                splitMinRows = Long.parseLong(input("- Minimum rows for split table (default: 1000000): ", "1000000"));
+                splitChunks = Integer.parseInt(input("- Chunks number for split table (default: " + threadsNum + "): ", String.valueOf(threadsNum)));
+                rebalance = inputYesNo("- Split tail tables for idle threads (default: 'no'): ", "no");
+            }
+            copyFormat = input("- Copy format csv or binary (default: 'csv'): ", "csv").toLowerCase();
+            copyStream = inputYesNo("- One continuous copy per table (default: 'no'): ", "no");
+            pipeline = inputYesNo("- Fetch, encode and write in pipeline (default: 'no'): ", "no");
+            oracleFetch = inputYesNo("- Oracle native fetch of NUMBER and DATE (default: 'no'): ", "no");
+            pipelineDepth = 4;
+            lobPrefetchSize = 32768;
+            if (copyStream || pipeline) {
+                commitRows = Integer.parseInt(input("- Commit every rows, 0 - one commit per table (default: 0): ", "0"));
+            }
         }
         
         if (createTable || transferRows) {
@@ -205,11 +515,11 @@ public class TransferContext {
         
         String ddlFilename = input("\n- Filename for DDL script (default: 'stdout'): ", null);
         if (ddlFilename != null) {
-            ddlStream = new PrintStream(ddlFilename);
+            ddlStream = openStream(ddlFilename, false);
         }
-        String logFilename = input("- Filename for logging (default: 'stdout'): ", null);
+        logFilename = input("- Filename for logging (default: 'stdout'): ", null);
         if (logFilename != null) {
-            logStream = new PrintStream(logFilename);
+            logStream = openStream(logFilename, false);
         }
     }
 
@@ -244,6 +554,11 @@ public class TransferContext {
         return Integer.parseInt(value);
     }
 
+    private long nvl(String value, long defaultValue) {
+        if (value == null) return defaultValue;
+        return Long.parseLong(value);
+    }
+
     public void readPropertiesFromFile(String filename) throws FileNotFoundException, IOException {
         Properties properties = new Properties();
         
@@ -252,6 +567,11 @@ public class TransferContext {
         }
         
         // source
+        sourceType = properties.getProperty("source.type", "oracle").toLowerCase();
+        sourceDirectory = properties.getProperty("source.directory");
+        if (sourceType.equals("dump") && sourceDirectory == null) {
+            throw new IOException("Source type 'dump' requires property source.directory");
+        }
         srcHost = properties.getProperty("source.host", "localhost");
         srcPort = properties.getProperty("source.port", "1521");
         srcDatabase = properties.getProperty("source.database", "orcl");
@@ -266,7 +586,21 @@ public class TransferContext {
             }
         }
         
+        // synthetic source (throughput tests without database)
+        syntheticTables = nvl(properties.getProperty("synthetic.tables"), 4);
+        syntheticRows = nvl(properties.getProperty("synthetic.rows"), 1000000L);
+        syntheticColumns = nvl(properties.getProperty("synthetic.columns"), 10);
+        syntheticMix = properties.getProperty("synthetic.mix", "mixed").toLowerCase();
+
         // target
+        targetType = properties.getProperty("target.type", "postgres").toLowerCase();
+        targetDirectory = properties.getProperty("target.directory");
+        dumpCompression = properties.getProperty("dump.compression", "gzip").toLowerCase();
+        dumpCompressionLevel = nvl(properties.getProperty("dump.compressionLevel"), 1);
+        dumpFileSize = nvl(properties.getProperty("dump.fileSize"), 1024L);
+        if (targetType.equals("dump") && targetDirectory != null) {
+            dumpManifest = new DumpManifest(new File(targetDirectory));
+        }
         destHost = properties.getProperty("target.host", "localhost");
         destPort = properties.getProperty("target.port", "5432");
         destDatabase = properties.getProperty("target.database", "postgres");
@@ -281,35 +615,103 @@ public class TransferContext {
             createTable = nvl(properties.getProperty("target.createTable"), false);
         }
         transferRows = nvl(properties.getProperty("target.transferRows"), false);
+        postLoadIndexes = nvl(properties.getProperty("target.postLoadIndexes"), false);
+        parallelForeignKeys = nvl(properties.getProperty("target.parallelForeignKeys"), false);
         
         // transfer options
         sampleRows = nvl(properties.getProperty("transfer.sampleRows"), 200);
+        sampleMode = properties.getProperty("transfer.sampleMode", "first").toLowerCase();
         chunkSize = nvl(properties.getProperty("transfer.chunkSize"), 1000);
+        batchBytes = nvl(properties.getProperty("transfer.batchBytes"), 0L);
         threadsNum = nvl(properties.getProperty("transfer.threadsNum"), 1);
+        virtualThreads = nvl(properties.getProperty("transfer.virtualThreads"), false);
+        jobOrder = properties.getProperty("transfer.jobOrder", "size").toLowerCase();
+        splitMode = properties.getProperty("transfer.splitMode", "none").toLowerCase();
+        rebalance = nvl(properties.getProperty("transfer.rebalance"), false);
+        splitMinRows = nvl(properties.getProperty("transfer.splitMinRows"), 1000000L);
+        splitChunks = nvl(properties.getProperty("transfer.splitChunks"), threadsNum);
+        copyFormat = properties.getProperty("transfer.copyFormat", "csv").toLowerCase();
+        copyStream = nvl(properties.getProperty("transfer.copyStream"), false);
+        commitRows = nvl(properties.getProperty("transfer.commitRows"), 0);
+        pipeline = nvl(properties.getProperty("transfer.pipeline"), false);
+        pipelineDepth = nvl(properties.getProperty("transfer.pipelineDepth"), 4);
+        snapshot = nvl(properties.getProperty("transfer.snapshot"), false);
+        lobInsert = nvl(properties.getProperty("transfer.lobInsert"), false);
+        lobPrefetchSize = nvl(properties.getProperty("transfer.lobPrefetchSize"), 32768);
+        oracleFetch = nvl(properties.getProperty("transfer.oracleFetch"), false);
+        progressInterval = nvl(properties.getProperty("transfer.progressInterval"), 60);
         
-        // output properties
+        // index options
+        indexThreadsNum = nvl(properties.getProperty("index.threadsNum"), threadsNum);
+        indexMaintenanceWorkMem = properties.getProperty("index.maintenanceWorkMem");
+        indexParallelWorkers = nvl(properties.getProperty("index.parallelWorkers"), -1);
+
+        // delta options (rows changed after initial load)
+        delta = nvl(properties.getProperty("delta.enabled"), false);
+        deltaFromScn = nvl(properties.getProperty("delta.fromScn"), 0L);
+        deltaDeletes = nvl(properties.getProperty("delta.deletes"), false);
+        if (delta) {
+            transferRows = true;
+        }
+
+        // table options
+        for (String name : properties.stringPropertyNames()) {
+            int dot = name.lastIndexOf('.');
+            if (name.startsWith("table.") && dot > 6) {
+                // table name in upper case as in source.tables
+                tableOptions.setProperty("table." + name.substring(6, dot).toUpperCase() + name.substring(dot),
+                        properties.getProperty(name));
+            }
+        }
+
+        // output properties (append on resume)
         String ddlFilename = properties.getProperty("ddl.filename");
         if (ddlFilename != null) {
-            ddlStream = new PrintStream(ddlFilename);
+            ddlStream = openStream(ddlFilename, resume);
         }
-        String logFilename = properties.getProperty("log.filename");
+        logFilename = properties.getProperty("log.filename");
         if (logFilename != null) {
-            logStream = new PrintStream(logFilename);
+            logStream = openStream(logFilename, resume);
+        }
+
+        // checkpoint journal
+        journalFilename = properties.getProperty("journal.filename");
+        if (journalFilename != null) {
+            journal.open(journalFilename, resume);
+        } else if (resume) {
+            throw new IOException("Resume requires property journal.filename");
         }
     }
 
     public void printParameters() {
-        logStream.println("\nSource Oracle database:");
-        logStream.println("  Hostname: " + srcHost);
-        logStream.println("  Port: " + srcPort);
-        logStream.println("  Database name: " + srcDatabase);
-        logStream.println("  Username: " + srcUsername);
-        logStream.println("  Password: " + StringUtils.rpad("", srcPassword.length(), '*'));
+        if (sourceType.equals("synthetic")) {
+            logStream.println("\nSource synthetic rows:");
+            logStream.println("  Tables: " + syntheticTables);
+            logStream.println("  Rows: " + syntheticRows);
+            logStream.println("  Columns: " + syntheticColumns);
+            logStream.println("  Mix: " + syntheticMix);
+        } else if (sourceType.equals("dump")) {
+            logStream.println("\nSource dump: " + sourceDirectory);
+        } else {
+            logStream.println("\nSource Oracle database:");
+            logStream.println("  Hostname: " + srcHost);
+            logStream.println("  Port: " + srcPort);
+            logStream.println("  Database name: " + srcDatabase);
+            logStream.println("  Username: " + srcUsername);
+            logStream.println("  Password: " + StringUtils.rpad("", srcPassword.length(), '*'));
+        }
         
         logStream.println("\nOwner: " + owner);
         logStream.println("Tables: " + tables);
 
-        if (createTable || transferRows) {
+        if ((createTable || transferRows) && targetType.equals("dump")) {
+            logStream.println("\nTarget dump:");
+            logStream.println("  Directory: " + targetDirectory);
+            logStream.println("  Compression: " + dumpCompression + (dumpCompression.equals("gzip") ? " (level " + dumpCompressionLevel + ")" : ""));
+            logStream.println("  File size: " + (dumpFileSize > 0 ? dumpFileSize + " MB" : "no rotation"));
+        } else if ((createTable || transferRows) && !targetType.equals("postgres")) {
+            logStream.println("\nTarget: " + (targetType.equals("file") ? "COPY data files in " + targetDirectory : targetType));
+        } else if (createTable || transferRows) {
             logStream.println("\nTarget PostgreSQL database:");
             logStream.println("  Hostname: " + destHost);
             logStream.println("  Port: " + destPort);
@@ -322,61 +724,315 @@ public class TransferContext {
         logStream.println("  Create target schema: " + createSchema);
         logStream.println("  Create target tables: " + createTable);
         logStream.println("  Transfer table  rows: " + transferRows);
+        logStream.println("  Journal: " + (journalFilename != null ? journalFilename + (resume ? " (resume)" : "") : "none"));
+        if (delta) {
+            logStream.println("  Delta from SCN: " + (getDeltaFromScn() > 0 ? String.valueOf(getDeltaFromScn()) : "unknown"));
+            logStream.println("  Delta deletes: " + deltaDeletes);
+        }
         if (transferRows) {
-            logStream.println("  Sample rows: " + sampleRows);
+            logStream.println("  Sample rows: " + sampleRows + (sampleRows > 0 ? " (" + sampleMode + ")" : ""));
             logStream.println("  Chunk  size: " + chunkSize);
-            logStream.println("  Threads num: " + threadsNum);
+            logStream.println("  Batch bytes: " + (batchBytes > 0 ? String.valueOf(batchBytes) : "none (chunk size rows)"));
+            logStream.println("  Threads num: " + threadsNum + (virtualThreads ? " (virtual)" : ""));
+            logStream.println("  Post-load indexes: " + postLoadIndexes);
+            logStream.println("  Parallel foreign keys: " + parallelForeignKeys);
+            if (postLoadIndexes) {
+                logStream.println("  Index threads num: " + indexThreadsNum);
+                logStream.println("  Index maintenance_work_mem: " + (indexMaintenanceWorkMem != null ? indexMaintenanceWorkMem : "server"));
+                logStream.println("  Index parallel workers: " + (indexParallelWorkers >= 0 ? String.valueOf(indexParallelWorkers) : "server"));
+            }
+            logStream.println("  Snapshot (AS OF SCN): " + snapshot);
+            logStream.println("  Job order: " + jobOrder);
+            logStream.println("  Split  mode: " + splitMode);
+            if (!splitMode.equals("none")) {
+                logStream.println("  Split min rows: " + splitMinRows);
+                logStream.println("  Split  chunks: " + splitChunks);
+                logStream.println("  Rebalance: " + rebalance);
+            }
+            logStream.println("  Copy format: " + copyFormat);
+            logStream.println("  Copy stream: " + copyStream);
+            logStream.println("  LOB: " + (lobInsert ? "insert" : "copy") + " (prefetch " + lobPrefetchSize + ")");
+            logStream.println("  Oracle native fetch: " + oracleFetch);
+            logStream.println("  Pipeline: " + pipeline + (pipeline ? " (depth " + pipelineDepth + ")" : ""));
+            logStream.println("  Progress interval: " + (progressInterval > 0 ? progressInterval + " s" : "none"));
+            if (copyStream || pipeline) {
+                logStream.println("  Commit rows: " + commitRows);
+            }
         }
         logStream.println();
     }
 
-    // Logging message
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
-    private String getCurrentDateTime() {
-        return DATE_FORMAT.format(new Date());
+    // Buffered output file (flushed by log writer)
+    private static PrintStream openStream(String filename, boolean append) throws FileNotFoundException {
+        return new PrintStream(new BufferedOutputStream(new FileOutputStream(filename, append), OUTPUT_BUFFER_SIZE));
     }
 
-    public synchronized void log(String message) {
-        logStream.println(getCurrentDateTime() + " " + message);
+    // Logging message (time is formatted and line is written by log writer thread)
+    public void log(String message) {
+        writer.log(logStream, message);
     }
     
-    public synchronized void info(String message) {
+    public void info(String message) {
         log("INFO: " + message);
     }
     
-    public synchronized void warning(String message) {
+    // Progress of transfer on console (when log is file) and in log
+    public void progress(String message) {
+        if (logStream != System.out) System.err.println("PROGRESS: " + message);
+        log("PROGRESS: " + message);
+    }
+
+    public void warning(String message) {
         System.err.println("WARNING: " + message);
         log("WARNING: " + message);
     }
 
-    public synchronized void error(String message) {
+    public void error(String message) {
+        errorCount.incrementAndGet();
         System.err.println("ERROR: " + message);
         log("ERROR: " + message);
     }
     
-    // Write DDL
-    public synchronized void writeDDL(String ddl) {
-        ddlStream.println(ddl);
+    // Write DDL (to block of current job when started)
+    public void writeDDL(String ddl) {
+        StringBuilder block = ddlBlock.get();
+        if (block != null) {
+            if (block.length() > 0) block.append(System.lineSeparator());
+            block.append(ddl);
+        } else {
+            writer.println(ddlStream, ddl);
+        }
+    }
+
+    /**
+     * Start block of DDL of job: DDL of table is written together,
+     * not interleaved with DDL of other workers
+     */
+    public void beginDDL() {
+        ddlBlock.set(new StringBuilder());
+    }
+
+    /**
+     * Write block of DDL of job
+     */
+    public void endDDL() {
+        StringBuilder block = ddlBlock.get();
+        ddlBlock.remove();
+        if (block != null && block.length() > 0) {
+            writer.println(ddlStream, block.toString());
+        }
     }
     
     // Jobs
     public void initializeJobs(){
-        jobs.clear();
+        initializeJobs(TransferJob.Type.TABLE);
+    }
+
+    public void initializeJobs(TransferJob.Type type){
+        List<TransferJob> list = new ArrayList<>();
+        List<String> ready = new ArrayList<>(); // finished by previous run
         for (String tableName : tables) {
-            jobs.add(tableName);
+            if (type == TransferJob.Type.INDEXES && journal.isIndexesDone(tableName)) {
+                log("Resume: indexes of table " + owner + '.' + tableName + " ... Skip");
+                ready.add(tableName);
+            } else if (type == TransferJob.Type.TABLE && journal.isDone(tableName)) {
+                log("Resume: table " + owner + '.' + tableName + " ... Skip");
+                if (!postLoadIndexes) ready.add(tableName);
+            } else if (type == TransferJob.Type.TABLE && journal.getChunks(tableName) != null) {
+                resumeChunks(tableName, list, ready);
+            } else {
+                list.add(new TransferJob(type, tableName, estimateCost(tableName)));
+                if (type == TransferJob.Type.TABLE) expectProgress(tableName, 1.0);
+            }
+        }
+        if (jobOrder.equals("size")) {
+            // longest processing time first
+            list.sort((a, b) -> Long.compare(b.getCost(), a.getCost()));
+        }
+        jobs.clear();
+        jobs.addAll(list);
+        for (String tableName : ready) {
+            tableReady(tableName);
+        }
+    }
+
+    // Chunks of split table not transferred by previous run
+    private void resumeChunks(String tableName, List<TransferJob> list, List<String> ready) {
+        List<TransferJob> chunks = journal.getChunks(tableName);
+        long cost = estimateCost(tableName) / chunks.size();
+        int pending = 0;
+        for (TransferJob chunk : chunks) {
+            if (journal.isDone(chunk.getKey())) continue;
+            list.add(new TransferJob(tableName, chunk.getCondition(), chunk.getChunkNo(), chunk.getChunkCount(), cost));
+            pending++;
+        }
+        log("Resume: table " + owner + '.' + tableName + ", " + pending + " of " + chunks.size() + " chunks");
+        expectProgress(tableName, (double) pending / chunks.size());
+        if (pending > 0) {
+            pendingChunks.put(tableName, new AtomicInteger(pending));
+        } else {
+            journal.jobDone(tableName);
+            if (!postLoadIndexes) ready.add(tableName);
         }
     }
+
+    // Estimated size of table in bytes by statistics (rows * avg row length or blocks)
+    private long estimateCost(String tableName) {
+        MetadataCatalog.TableInfo table = catalog.getTable(owner, tableName);
+        if (table == null) return 0;
+        long bytes = table.getNumRows() * table.getAvgRowLen();
+        return bytes > 0 ? bytes : table.getBlocks() * ORACLE_BLOCK_SIZE;
+    }
     
-    public synchronized String getJob() {
-        if (jobs.isEmpty()) return null; // stop job
-        
-        String tableName = jobs.get(0); // pop job
-        jobs.remove(0);
-        
-        return tableName;
+    // Expected rows and bytes of table (part of pending chunks) by statistics (delta rows are unknown)
+    private void expectProgress(String tableName, double part) {
+        MetadataCatalog.TableInfo table = catalog.getTable(owner, tableName);
+        long rows = table == null || delta ? 0 : table.getNumRows();
+        if (sampleRows > 0) rows = Math.min(rows, sampleRows);
+        progress.expect(owner + '.' + tableName, (long) (rows * part), (long) (estimateCost(tableName) * part));
+    }
+
+    /**
+     * Next job of worker: idle worker waits while jobs are running, since they
+     * release jobs (chunks of split table, foreign keys of loaded tables)
+     * @return job or null - stop worker
+     */
+    public TransferJob getJob() {
+        while (!cancelled) {
+            runningJobs.incrementAndGet(); // before poll: other workers wait for taken job
+            TransferJob job = jobs.pollFirst();
+            if (job != null) return job;
+            jobFinished(); // no job
+            synchronized (jobs) {
+                if (jobs.isEmpty() && runningJobs.get() == 0) return null; // stop job
+                if (jobs.isEmpty() && !cancelled) {
+                    try {
+                        jobs.wait();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return null;
+                    }
+                }
+            }
+        }
+        return null; // stop job
+    }
+
+    /**
+     * Job of worker is finished (after getJob)
+     */
+    public void jobFinished() {
+        if (runningJobs.decrementAndGet() == 0) {
+            synchronized (jobs) {
+                jobs.notifyAll();
+            }
+        }
+    }
+
+    // Cancel remaining jobs (Ctrl-C)
+    public void cancel() {
+        cancelled = true;
+        synchronized (jobs) {
+            jobs.notifyAll();
+        }
+    }
+
+    public int getPendingJobs() {
+        return jobs.size();
+    }
+
+    // Chunks of split table and ready foreign keys are processed before remaining tables
+    public void addJobs(List<TransferJob> list) {
+        for (int i = list.size() - 1; i >= 0; i--) {
+            jobs.addFirst(list.get(i));
+        }
+        if (!list.isEmpty()) {
+            synchronized (jobs) {
+                jobs.notifyAll(); // idle workers
+            }
+        }
+    }
+
+    public void addChunks(String tableName, List<TransferJob> chunks) {
+        pendingChunks.put(tableName, new AtomicInteger(chunks.size()));
+        addJobs(chunks);
+    }
+
+    /**
+     * Chunk of split table is transferred
+     * @param tableName table name
+     * @return true when all chunks of table are transferred
+     */
+    public boolean chunkDone(String tableName) {
+        AtomicInteger pending = pendingChunks.get(tableName);
+        return pending != null && pending.decrementAndGet() == 0;
+    }
+
+    /**
+     * Table is ready for foreign keys: release jobs of foreign keys
+     * @param tableName table name
+     */
+    public void tableReady(String tableName) {
+        if (foreignKeys != null) {
+            addJobs(foreignKeys.tableReady(tableName));
+        }
     }
     
+    /**
+     * Save dictionary of source to dump (catalog.dat), so dump is loaded
+     * with DDL of tables, indexes and foreign keys without source database
+     */
+    public void saveDumpCatalog() {
+        if (dumpManifest == null) return;
+        File file = new File(targetDirectory, DumpManifest.CATALOG_FILENAME);
+        try {
+            if (!file.getParentFile().isDirectory() && !file.getParentFile().mkdirs()) {
+                throw new IOException("Directory " + targetDirectory + " is not created");
+            }
+            catalog.save(file);
+            log("Dump catalog " + file);
+        } catch (IOException ex) {
+            error("Dump catalog " + file + ": " + ex.getLocalizedMessage());
+        }
+    }
+
+    // Wait until queued lines are written
+    public void flush() {
+        writer.flush();
+    }
+
+    /**
+     * Log total throughput and write metrics report next to log file:
+     * &lt;log&gt;-metrics.json and &lt;log&gt;-metrics.csv (no report when log is stdout)
+     */
+    public void writeMetricsReport() {
+        TransferStats total = metrics.getTotal();
+        if (total.getJobs() == 0) return;
+        log("Transferred " + total.getRows() + " rows, " + total.getBytes() + " bytes in "
+                + total.getElapsedMillis() + " ms (" + total.getRowsPerSecond() + " rows/s, "
+                + total.getBytesPerSecond() + " bytes/s), fetch " + total.getFetchMillis()
+                + " ms, encode " + total.getEncodeMillis() + " ms, write " + total.getWriteMillis() + " ms");
+        if (logFilename == null) return;
+        int dot = logFilename.lastIndexOf('.');
+        String base = (dot > logFilename.lastIndexOf(File.separatorChar) ? logFilename.substring(0, dot) : logFilename)
+                + "-metrics";
+        try {
+            metrics.writeJson(base + ".json");
+            metrics.writeCsv(base + ".csv");
+            log("Metrics report: " + base + ".json, " + base + ".csv");
+        } catch (IOException ex) {
+            error("Metrics report " + base + ": " + ex.getLocalizedMessage());
+        }
+    }
+
     public void close() {
+        journal.close();
+        if (dumpManifest != null) {
+            log("Dump manifest " + dumpManifest.getFile() + ": " + dumpManifest.getFiles() + " files, "
+                    + dumpManifest.getRows() + " rows");
+            dumpManifest.close();
+        }
+        writer.close();
         logStream.close();
         ddlStream.close();
     }
@@ -0,0 +1,115 @@
+/*
+ * File:    TransferJob.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:23:38 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+/**
+ * Unit of work for transfer threads: whole table (DDL and data),
+ * chunk of table rows (data only) restricted by ROWID or PK range,
+ * post-load constraints and indexes of table or foreign key of table
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class TransferJob {
+
+    // =================== Inner Classes ====================
+
+    public enum Type {
+        TABLE, CHUNK, INDEXES, FOREIGN_KEY
+    }
+
+    // =================== Fields ====================
+
+    private final Type type;
+    private final String tableName;
+    private final String condition; // where condition for chunk
+    private final int chunkNo;
+    private final int chunkCount;
+    private final String constraintName; // foreign key
+    private final long cost; // estimated size in bytes
+
+    // =================== Constructors ===========================
+
+    public TransferJob(String tableName, long cost) {
+        this(Type.TABLE, tableName, cost);
+    }
+
+    public TransferJob(Type type, String tableName, long cost) {
+        this(type, tableName, null, 0, 0, null, cost);
+    }
+
+    public TransferJob(String tableName, String condition, int chunkNo, int chunkCount, long cost) {
+        this(Type.CHUNK, tableName, condition, chunkNo, chunkCount, null, cost);
+    }
+
+    public TransferJob(String tableName, String constraintName) {
+        this(Type.FOREIGN_KEY, tableName, null, 0, 0, constraintName, 0);
+    }
+
+    private TransferJob(Type type, String tableName, String condition, int chunkNo, int chunkCount,
+            String constraintName, long cost) {
+        this.type = type;
+        this.tableName = tableName;
+        this.condition = condition;
+        this.chunkNo = chunkNo;
+        this.chunkCount = chunkCount;
+        this.constraintName = constraintName;
+        this.cost = cost;
+    }
+
+    // =================== Getters and Setters ====================
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public int getChunkNo() {
+        return chunkNo;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public String getConstraintName() {
+        return constraintName;
+    }
+
+    public long getCost() {
+        return cost;
+    }
+
+    public boolean isChunk() {
+        return type == Type.CHUNK;
+    }
+
+    // Key of table or chunk in transfer journal
+    public String getKey() {
+        return type == Type.CHUNK ? tableName + '#' + chunkNo : tableName;
+    }
+
+    // =================== Cast to String ====================
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case CHUNK:       return tableName + " [chunk " + chunkNo + '/' + chunkCount + ']';
+            case INDEXES:     return tableName + " [indexes]";
+            case FOREIGN_KEY: return tableName + " [" + constraintName + ']';
+            default:          return tableName;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * File:    TransferJournal.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:35:54 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checkpoint journal of transfer: completed DDL steps, loaded tables and chunks,
+ * and last committed key of streamed tables. Journal is appended line by line
+ * (tab separated) and read back on resume to skip finished work.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class TransferJournal implements AutoCloseable {
+
+    // =================== Constants ====================
+
+    private static final String SCHEMA = "SCHEMA";
+    private static final String TABLE = "TABLE";
+    private static final String CHUNK = "CHUNK";
+    private static final String DONE = "DONE";
+    private static final String INDEXES = "INDEXES";
+    private static final String FK = "FK";
+    private static final String CHECKPOINT = "CHECKPOINT";
+    private static final String START = "START";
+    private static final String SYNC = "SYNC";
+
+    // =================== Fields ====================
+
+    private PrintStream out; // null - journal disabled
+    private long startScn; // SCN of source at start of transfer
+    private long syncScn; // SCN of last completed transfer
+    private boolean schemaCreated;
+    private final Set<String> createdTables = new HashSet<>();
+    private final Set<String> doneJobs = new HashSet<>();
+    private final Set<String> indexedTables = new HashSet<>();
+    private final Set<String> foreignKeys = new HashSet<>();
+    private final Map<String, List<TransferJob>> chunks = new HashMap<>();
+    private final Map<String, String[]> checkpoints = new HashMap<>(); // job key -> {rows, key}
+
+    // =================== Getters and Setters ====================
+
+    public boolean isEnabled() {
+        return out != null;
+    }
+
+    public synchronized boolean isSchemaCreated() {
+        return schemaCreated;
+    }
+
+    public synchronized boolean isTableCreated(String tableName) {
+        return createdTables.contains(tableName);
+    }
+
+    public synchronized boolean isDone(String jobKey) {
+        return doneJobs.contains(jobKey);
+    }
+
+    public synchronized boolean isIndexesDone(String tableName) {
+        return indexedTables.contains(tableName);
+    }
+
+    public synchronized boolean isForeignKeyDone(String constraintName) {
+        return foreignKeys.contains(constraintName);
+    }
+
+    /**
+     * @param tableName table name
+     * @return chunks of split table (null when table was not split)
+     */
+    public synchronized List<TransferJob> getChunks(String tableName) {
+        return chunks.get(tableName);
+    }
+
+    /**
+     * @param jobKey key of table or chunk job
+     * @return last committed key value or null
+     */
+    public synchronized String getCheckpointKey(String jobKey) {
+        String[] checkpoint = checkpoints.get(jobKey);
+        return checkpoint == null ? null : checkpoint[1];
+    }
+
+    public synchronized long getCheckpointRows(String jobKey) {
+        String[] checkpoint = checkpoints.get(jobKey);
+        return checkpoint == null ? 0 : Long.parseLong(checkpoint[0]);
+    }
+
+    public synchronized long getStartScn() {
+        return startScn;
+    }
+
+    public synchronized long getSyncScn() {
+        return syncScn;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Open journal file. New journal keeps only SCN of last completed transfer.
+     * @param filename journal filename
+     * @param resume read existing journal and append to it
+     * @exception IOException when read or write error
+     */
+    public void open(String filename, boolean resume) throws IOException {
+        File file = new File(filename);
+        if (file.exists()) {
+            read(file);
+        }
+        if (!resume) {
+            long scn = syncScn;
+            clear();
+            syncScn = scn;
+        }
+        out = new PrintStream(new FileOutputStream(file, resume), true, "UTF-8");
+        if (!resume && syncScn > 0) {
+            write(SYNC, String.valueOf(syncScn));
+        }
+    }
+
+    private synchronized void clear() {
+        schemaCreated = false;
+        startScn = 0;
+        syncScn = 0;
+        createdTables.clear();
+        doneJobs.clear();
+        indexedTables.clear();
+        foreignKeys.clear();
+        chunks.clear();
+        checkpoints.clear();
+    }
+
+    private void read(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", 5);
+                switch (fields[0]) {
+                    case SCHEMA:
+                        schemaCreated = true;
+                        break;
+                    case TABLE:
+                        createdTables.add(fields[1]);
+                        break;
+                    case CHUNK: // CHUNK table no count condition
+                        chunks.computeIfAbsent(fields[1], k -> new ArrayList<>())
+                                .add(new TransferJob(fields[1], fields[4],
+                                        Integer.parseInt(fields[2]), Integer.parseInt(fields[3]), 0));
+                        break;
+                    case DONE:
+                        doneJobs.add(fields[1]);
+                        break;
+                    case INDEXES:
+                        indexedTables.add(fields[1]);
+                        break;
+                    case FK:
+                        foreignKeys.add(fields[1]);
+                        break;
+                    case CHECKPOINT: // CHECKPOINT job rows key
+                        checkpoints.put(fields[1], new String[] { fields[2], fields[3] });
+                        break;
+                    case START:
+                        if (startScn == 0) startScn = Long.parseLong(fields[1]);
+                        break;
+                    case SYNC:
+                        syncScn = Long.parseLong(fields[1]);
+                        break;
+                    default:
+                        // unknown record (truncated line)
+                }
+            }
+        }
+    }
+
+    private synchronized void write(String... fields) {
+        if (out == null) return;
+        out.println(String.join("\t", fields));
+    }
+
+    public synchronized void schemaCreated() {
+        schemaCreated = true;
+        write(SCHEMA);
+    }
+
+    public synchronized void tableCreated(String tableName) {
+        createdTables.add(tableName);
+        write(TABLE, tableName);
+    }
+
+    public synchronized void tableSplit(String tableName, List<TransferJob> list) {
+        chunks.put(tableName, new ArrayList<>(list));
+        for (TransferJob chunk : list) {
+            write(CHUNK, tableName, String.valueOf(chunk.getChunkNo()), String.valueOf(chunk.getChunkCount()),
+                    chunk.getCondition());
+        }
+    }
+
+    public synchronized void jobDone(String jobKey) {
+        doneJobs.add(jobKey);
+        checkpoints.remove(jobKey);
+        write(DONE, jobKey);
+    }
+
+    public synchronized void indexesDone(String tableName) {
+        indexedTables.add(tableName);
+        write(INDEXES, tableName);
+    }
+
+    public synchronized void foreignKeyDone(String constraintName) {
+        foreignKeys.add(constraintName);
+        write(FK, constraintName);
+    }
+
+    public synchronized void checkpoint(String jobKey, long rows, Object key) {
+        String[] checkpoint = { String.valueOf(rows), String.valueOf(key) };
+        checkpoints.put(jobKey, checkpoint);
+        write(CHECKPOINT, jobKey, checkpoint[0], checkpoint[1]);
+    }
+
+    /**
+     * Start of transfer: SCN of first run is kept on resume
+     * @param scn current SCN of source
+     */
+    public synchronized void start(long scn) {
+        startScn = scn;
+        write(START, String.valueOf(scn));
+    }
+
+    /**
+     * Transfer is completed: next delta transfer reads rows changed after SCN
+     * @param scn SCN of start of transfer
+     */
+    public synchronized void synced(long scn) {
+        syncScn = scn;
+        write(SYNC, String.valueOf(scn));
+    }
+
+    @Override
+    public synchronized void close() {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+}
@@ -8,23 +8,32 @@
  */
 package ru.lionsoft.oracle2postgres;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
-import java.io.StringReader;
-import java.sql.Blob;
-import java.sql.Clob;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.NClob;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
-import org.postgresql.copy.CopyManager;
-import org.postgresql.core.BaseConnection;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.GZIPInputStream;
 
 /**
  *
@@ -35,17 +44,28 @@ public class TransferManager implements AutoCloseable {
     // =================== Constants ====================
 
     private final static int COLUMN_NAME_LENGTH = 20;
-    private final static String ORACLE_DRIVER = "oracle.jdbc.OracleDriver";
-    private final static String POSTGRES_DRIVER = "org.postgresql.Driver";
+    private final static int COPY_BUFFER_SIZE = 64 * 1024;
+    private final static int MAX_COPY_BUFFER_SIZE = 16 * 1024 * 1024;
+    private final static int DUMP_BUFFER_SIZE = 1024 * 1024;
+    // staging tables of delta: temporary (session of worker), dropped on commit of table
+    private final static String DELTA_ROWS_TABLE = "delta_rows";
+    private final static String DELTA_DELETES_TABLE = "delta_deletes";
 
     // =================== Fields ====================
 
     // Transfer Context (config and workspace)
     private final TransferContext ctx;
 
+    // Source and target
+    private TransferSource source;
+    private TransferTarget target;
+
+    // Name of worker (metrics)
+    private String workerName = "Main";
+
     // Connections
-    private Connection srcConnection;  // Source Oracle
-    private Connection destConnection; // Destination PostgreSQL
+    private Connection srcConnection;  // Source Oracle (null - source without database)
+    private Connection destConnection; // Destination PostgreSQL (null - target without database)
 
     // =================== Constructors ===========================
 
@@ -57,6 +77,10 @@ public class TransferManager implements AutoCloseable {
     
     // =================== Getters and Setters ====================
 
+    public void setWorkerName(String workerName) {
+        this.workerName = workerName;
+    }
+
     // ========== Equals Objects ==================
 
     // =================== Cast to String ====================
@@ -64,150 +88,251 @@ public class TransferManager implements AutoCloseable {
     // =================== Bussiness Methods ====================
 
     private void connectToDatabases() throws ClassNotFoundException, SQLException {
-        Class.forName(ORACLE_DRIVER);
-        String srcUrl = "jdbc:oracle:thin:@" + ctx.getSrcHost() + ':' + ctx.getSrcPort() + ':' + ctx.getSrcDatabase();
-        ctx.log("-- Source URL: " + srcUrl);
-        srcConnection = DriverManager.getConnection(srcUrl, ctx.getSrcUsername(), ctx.getSrcPassword());
-        ctx.log("Connecting to source database");
+        switch (ctx.getSourceType()) {
+            case "oracle":
+                source = new OracleSource(ctx);
+                break;
+            case "synthetic":
+                source = new SyntheticSource(ctx);
+                break;
+            case "dump":
+                source = new DumpSource(ctx);
+                break;
+            default:
+                throw new SQLException("Unknown source type '" + ctx.getSourceType() + "'");
+        }
+        srcConnection = source.getConnection();
 
-        if (ctx.isCreateTable() || ctx.isTransferRows()) {
-            Class.forName(POSTGRES_DRIVER);
-            String destUrl = "jdbc:postgresql://" + ctx.getDestHost() + ':' + ctx.getDestPort() + '/' + ctx.getDestDatabase();
-            ctx.log("-- Target URL: " + destUrl);
-            destConnection = DriverManager.getConnection(destUrl, ctx.getDestUsername(), ctx.getDestPassword());
-            ctx.log("Connecting to target database");
+        if (!ctx.isCreateTable() && !ctx.isTransferRows()) {
+            // DDL script only
+            target = new FileTarget(ctx, null);
+            return;
         }
+        switch (ctx.getTargetType()) {
+            case "postgres":
+                target = new PostgresTarget(ctx);
+                break;
+            case "file":
+                if (ctx.getTargetDirectory() == null) {
+                    throw new SQLException("Target type 'file' requires property target.directory");
+                }
+                target = new FileTarget(ctx, new File(ctx.getTargetDirectory()));
+                break;
+            case "dump":
+                if (ctx.getTargetDirectory() == null) {
+                    throw new SQLException("Target type 'dump' requires property target.directory");
+                }
+                target = new DumpTarget(ctx);
+                break;
+            case "null":
+                target = new FileTarget(ctx, null);
+                break;
+            default:
+                throw new SQLException("Unknown target type '" + ctx.getTargetType() + "'");
+        }
+        destConnection = target.getConnection();
     }
 
-    // Disconnect from databases
+    // Disconnect from source and target
     @Override
     public void close() {
-        if (srcConnection != null) {
-            try {
-                srcConnection.close();
-            } catch (SQLException ex) {
-                ctx.error(ex.getLocalizedMessage());
-            }
+        if (source != null) {
+            source.close();
+            source = null;
             srcConnection = null;
-            ctx.log("Disconnect from source database");
         }
-        if (destConnection != null) {
-            try {
-                destConnection.close();
-            } catch (SQLException ex) {
-                ctx.error(ex.getLocalizedMessage());
-            }
+        if (target != null) {
+            target.close();
+            target = null;
             destConnection = null;
-            ctx.log("Disconnect from target database");
         }
     }
 
-    private void executeDDL(String sql, String message) {
-        if (destConnection == null) return;
+    private boolean executeDDL(String sql, String message) {
+        if (destConnection == null) return false;
 
         if (sql.startsWith("--")) {
             // comment
             ctx.log(message + " ... Skip");
-            return;
+            return false;
         } 
 
         try (Statement stmt = destConnection.createStatement();) {
             stmt.executeUpdate(sql);
             ctx.log(message + " ... Ok");
+            return true;
         } catch (SQLException ex) {
             ctx.error(message + " ... Failed");
             ctx.error("Execute SQL: {" + sql + "}");
             ctx.error("Failed: " + ex.getLocalizedMessage());
+            return false;
+        }
+    }
+
+    // Dictionary of table from metadata catalog (loaded once per owner)
+    private MetadataCatalog.TableInfo tableInfo(String owner, String tableName) throws SQLException {
+        MetadataCatalog catalog = ctx.getCatalog();
+        source.loadCatalog(catalog, owner);
+        MetadataCatalog.TableInfo table = catalog.getTable(owner, tableName);
+        if (table == null) {
+            throw new SQLException("Table " + owner + '.' + tableName + " not found");
         }
+        return table;
+    }
+
+    public void loadMetadataCatalog() throws SQLException {
+        ctx.log("Load dictionary of schema " + ctx.getOwner());
+        source.loadCatalog(ctx.getCatalog(), ctx.getOwner());
+        ctx.log("Load dictionary of schema " + ctx.getOwner() + " ... Ok");
     }
 
-    private String constraintColumns(String owner, String constraintName) throws SQLException {
+    private String joinColumns(List<String> columns) {
         StringBuilder sb = new StringBuilder();
-        try (PreparedStatement pstmt = srcConnection.prepareStatement(
-                "SELECT column_name FROM all_cons_columns WHERE owner = ? AND constraint_name = ?")) {
-            pstmt.setString(1, owner);
-            pstmt.setString(2, constraintName);
-            int i = 0;
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    if (i++ > 0) sb.append(", ");
-                    sb.append(rs.getString(1));
-                }
-            }
+        int i = 0;
+        for (String column : columns) {
+            if (i++ > 0) sb.append(", ");
+            sb.append(column);
         }
         return sb.toString();
     }
-    
-    private boolean existConstraint(String owner, String constraintName) throws SQLException {
-        try (PreparedStatement pstmt = srcConnection.prepareStatement(
-                "SELECT 1 FROM all_constraints WHERE owner = ? AND constraint_name = ?")) {
-            pstmt.setString(1, owner);
-            pstmt.setString(2, constraintName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) return true;
+
+    /**
+     * Columns of table to transfer: table.&lt;TABLE&gt;.columns (include list)
+     * and table.&lt;TABLE&gt;.excludeColumns (exclude list), all columns by default
+     * @param owner schema owner
+     * @param tableName table name
+     * @return columns in order of table
+     * @exception SQLException when table is not found or no columns to transfer
+     */
+    private List<MetadataCatalog.ColumnInfo> transferColumns(String owner, String tableName) throws SQLException {
+        List<MetadataCatalog.ColumnInfo> allColumns = tableInfo(owner, tableName).getColumns();
+        Set<String> include = columnSet(ctx.getTableOption(tableName, "columns"));
+        Set<String> exclude = columnSet(ctx.getTableOption(tableName, "excludeColumns"));
+        if (include == null && exclude == null) {
+            return allColumns;
+        }
+        List<MetadataCatalog.ColumnInfo> columns = new ArrayList<>();
+        for (MetadataCatalog.ColumnInfo column : allColumns) {
+            if ((include == null || include.contains(column.getName()))
+                    && (exclude == null || !exclude.contains(column.getName()))) {
+                columns.add(column);
             }
         }
-        return false;
+        if (columns.isEmpty()) {
+            throw new SQLException("No columns to transfer for table " + owner + '.' + tableName);
+        }
+        return columns;
     }
 
-    private String referencesTable(String owner, String constraintName) throws SQLException {
-        StringBuilder sb = new StringBuilder();
-        String tableName;
+    // Column names of comma separated list (null - list is not set)
+    private static Set<String> columnSet(String list) {
+        if (list == null || list.trim().isEmpty()) return null;
+        Set<String> columns = new TreeSet<>();
+        for (String name : list.split(",")) {
+            columns.add(name.trim().toUpperCase());
+        }
+        return columns;
+    }
 
-        try (PreparedStatement pstmt = srcConnection.prepareStatement("SELECT owner||'.'||table_name FROM all_constraints WHERE owner = ? AND constraint_name = ?")) {
-            pstmt.setString(1, owner);
-            pstmt.setString(2, constraintName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                rs.next();
-                tableName = rs.getString(1);
+    // Names of columns excluded from transfer
+    private Set<String> excludedColumns(String owner, String tableName) throws SQLException {
+        Set<String> excluded = new TreeSet<>();
+        for (MetadataCatalog.ColumnInfo column : tableInfo(owner, tableName).getColumns()) {
+            excluded.add(column.getName());
+        }
+        for (MetadataCatalog.ColumnInfo column : transferColumns(owner, tableName)) {
+            excluded.remove(column.getName());
+        }
+        return excluded;
+    }
+
+    // Constraint, index or condition does not use excluded columns
+    private boolean isTransferred(String owner, String tableName, List<String> columns, String condition) throws SQLException {
+        for (String name : excludedColumns(owner, tableName)) {
+            if (columns.contains(name)
+                    || (condition != null && condition.matches("(?s).*\\b" + Pattern.quote(name) + "\\b.*"))) {
+                return false;
             }
         }
+        return true;
+    }
 
-        sb.append(tableName);
-        sb.append('(');
-        sb.append(constraintColumns(owner, constraintName));
-        sb.append(')');
+    // Foreign key and referenced key use transferred columns
+    private boolean isForeignKeyTransferred(String owner, String tableName, MetadataCatalog.ConstraintInfo info) throws SQLException {
+        if (!isTransferred(owner, tableName, info.getColumns(), null)) return false;
+        MetadataCatalog.ConstraintInfo refConstraint =
+                ctx.getCatalog().getConstraint(srcConnection, info.getRefOwner(), info.getRefConstraintName());
+        return refConstraint == null || !info.getRefOwner().equals(owner)
+                || !ctx.getTables().contains(refConstraint.getTableName())
+                || isTransferred(owner, refConstraint.getTableName(), refConstraint.getColumns(), null);
+    }
+
+    // Column list of select list or COPY command
+    private String columnList(List<MetadataCatalog.ColumnInfo> columns, boolean quoted) {
+        StringBuilder sb = new StringBuilder();
+        for (MetadataCatalog.ColumnInfo column : columns) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(quoted ? '"' + column.getName() + '"' : column.getName());
+        }
+        return sb.toString();
+    }
+
+    // Column list of result set
+    private String columnList(ResultSetMetaData metaData) throws SQLException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (i > 1) sb.append(", ");
+            sb.append(metaData.getColumnName(i));
+        }
         return sb.toString();
     }
 
+    private boolean existConstraint(String owner, String constraintName) throws SQLException {
+        return ctx.getCatalog().getConstraint(srcConnection, owner, constraintName) != null;
+    }
+
+    private String referencesTable(String owner, String constraintName) throws SQLException {
+        MetadataCatalog.ConstraintInfo refConstraint = ctx.getCatalog().getConstraint(srcConnection, owner, constraintName);
+        if (refConstraint == null) {
+            throw new SQLException("Constraint " + owner + '.' + constraintName + " not found");
+        }
+        return owner + '.' + refConstraint.getTableName() + '(' + joinColumns(refConstraint.getColumns()) + ')';
+    }
+
     private void extractTableConstraintsPUC(String owner, String tableName) throws SQLException {
 
         ctx.log("-- Constraints for table " + owner + '.' + tableName);
         ctx.writeDDL("\n-- Constraints for table " + owner + '.' + tableName);
-        try (PreparedStatement pstmt = srcConnection.prepareStatement(
-                          "SELECT owner, constraint_name, constraint_type, search_condition "
-                        + "FROM all_constraints "
-                        + "WHERE owner = ? AND table_name = ? AND constraint_type != 'R'")) {
-            pstmt.setString(1, owner);
-            pstmt.setString(2, tableName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    String constraint;
-                    String constraintOwner = rs.getString("owner");
-                    String constraintName = rs.getString("constraint_name");
-                    String searchCondition = rs.getString("search_condition");
-                    switch (rs.getString("constraint_type")) {
-                        case "P":
-                            constraint = " PRIMARY KEY (" + constraintColumns(constraintOwner, constraintName) + ')';
-                            break;
-                        case "U":
-                            constraint = " UNIQUE (" + constraintColumns(constraintOwner, constraintName) + ')';
-                            break;
-                        case "C":
-                            constraint = " CHECK (" + searchCondition + ')';
-                            break;
-                        default:
-                            constraint = "???";
-                    }
-                    String sql =
-                        (searchCondition != null && searchCondition.matches(".* IS NOT NULL") ? "--" : "") +
-                        "ALTER TABLE " + owner + '.' + tableName +
-                        " ADD CONSTRAINT " + constraintName + constraint;
-                    ctx.writeDDL(sql + ';');
-                    if (ctx.isCreateTable()) {
-                        executeDDL(sql, "Create constraint " + constraintOwner + '.' + constraintName);
-                    }
-                }
+        for (MetadataCatalog.ConstraintInfo info : tableInfo(owner, tableName).getConstraints()) {
+            if (info.getType().equals("R")) continue;
+            if (!isTransferred(owner, tableName, info.getColumns(), info.getSearchCondition())) {
+                ctx.log("-- Constraint " + info.getName() + " uses excluded columns ... Skip");
+                continue;
+            }
+            String constraint;
+            String constraintOwner = info.getOwner();
+            String constraintName = info.getName();
+            String searchCondition = info.getSearchCondition();
+            switch (info.getType()) {
+                case "P":
+                    constraint = " PRIMARY KEY (" + joinColumns(info.getColumns()) + ')';
+                    break;
+                case "U":
+                    constraint = " UNIQUE (" + joinColumns(info.getColumns()) + ')';
+                    break;
+                case "C":
+                    constraint = " CHECK (" + searchCondition + ')';
+                    break;
+                default:
+                    constraint = "???";
+            }
+            String sql =
+                (searchCondition != null && searchCondition.matches(".* IS NOT NULL") ? "--" : "") +
+                "ALTER TABLE " + owner + '.' + tableName +
+                " ADD CONSTRAINT " + constraintName + constraint;
+            ctx.writeDDL(sql + ';');
+            if (ctx.isCreateTable()) {
+                executeDDL(sql, "Create constraint " + constraintOwner + '.' + constraintName);
             }
         }
     }
@@ -216,37 +341,90 @@ public class TransferManager implements AutoCloseable {
 
         ctx.log("-- Constraints FK for table " + owner + '.' + tableName);
         ctx.writeDDL("\n-- Constraints for table " + owner + '.' + tableName);
-        try (PreparedStatement pstmt = srcConnection.prepareStatement(
-                          "SELECT owner, constraint_name, r_owner, r_constraint_name, delete_rule "
-                        + "FROM all_constraints "
-                        + "WHERE owner = ? AND table_name = ? AND constraint_type='R'")) {
-            pstmt.setString(1, owner);
-            pstmt.setString(2, tableName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    String constraint;
-                    String constraintOwner = rs.getString("owner");
-                    String constraintName = rs.getString("constraint_name");
-                    String refOwner = rs.getString("r_owner");
-                    String refConstraintName = rs.getString("r_constraint_name");
-                    String deleteRule = rs.getString("delete_rule");
-                    constraint = " FOREIGN KEY (" + constraintColumns(constraintOwner, constraintName) + ") REFERENCES " +
-                        referencesTable(refOwner, refConstraintName) +
-                        (deleteRule.equals("NO ACTION") ? "" : " ON DELETE " + deleteRule);
-                    String sql =
-                        "ALTER TABLE " + owner + '.' + tableName +
-                        " ADD CONSTRAINT " + constraintName + constraint;
-
-                    // published
-                    ctx.writeDDL(sql + ';');
-                    if (ctx.isCreateTable()) {
-                        executeDDL(sql, "Create constraint " + constraintOwner + '.' + constraintName);
-                    }
+        for (MetadataCatalog.ConstraintInfo info : tableInfo(owner, tableName).getConstraints()) {
+            if (!info.getType().equals("R")) continue;
+            if (ctx.getJournal().isForeignKeyDone(info.getName())) {
+                ctx.log("Resume: constraint " + info.getOwner() + '.' + info.getName() + " ... Skip");
+                continue;
+            }
+            if (!isForeignKeyTransferred(owner, tableName, info)) {
+                ctx.log("-- Constraint " + info.getName() + " uses excluded columns ... Skip");
+                continue;
+            }
+            String sql = foreignKeySql(owner, tableName, info);
+
+            // published
+            ctx.writeDDL(sql + ';');
+            if (ctx.isCreateTable()) {
+                if (executeDDL(sql, "Create constraint " + info.getOwner() + '.' + info.getName())) {
+                    ctx.getJournal().foreignKeyDone(info.getName());
                 }
             }
         }
     }
 
+    private String foreignKeySql(String owner, String tableName, MetadataCatalog.ConstraintInfo info) throws SQLException {
+        String deleteRule = info.getDeleteRule();
+        String constraint = " FOREIGN KEY (" + joinColumns(info.getColumns()) + ") REFERENCES " +
+            referencesTable(info.getRefOwner(), info.getRefConstraintName()) +
+            (deleteRule.equals("NO ACTION") ? "" : " ON DELETE " + deleteRule);
+        return "ALTER TABLE " + owner + '.' + tableName +
+            " ADD CONSTRAINT " + info.getName() + constraint;
+    }
+
+    /**
+     * Foreign key job: add constraint as NOT VALID (short lock)
+     * and validate existing rows (concurrently with other tables)
+     */
+    private void extractForeignKeyDDL(String owner, String tableName, String constraintName) throws SQLException {
+        MetadataCatalog.ConstraintInfo info = ctx.getCatalog().getConstraint(srcConnection, owner, constraintName);
+        ctx.log("-- Constraint FK " + owner + '.' + constraintName + " for table " + owner + '.' + tableName);
+        String sql = foreignKeySql(owner, tableName, info) + " NOT VALID";
+        String validateSql = "ALTER TABLE " + owner + '.' + tableName + " VALIDATE CONSTRAINT " + constraintName;
+        ctx.writeDDL("\n-- Constraint " + constraintName + " for table " + owner + '.' + tableName
+                + '\n' + sql + ";\n" + validateSql + ';');
+        if (ctx.isCreateTable()) {
+            if (executeDDL(sql, "Create constraint " + owner + '.' + constraintName + " (not valid)")
+                    && executeDDL(validateSql, "Validate constraint " + owner + '.' + constraintName)) {
+                ctx.getJournal().foreignKeyDone(constraintName);
+            }
+        }
+    }
+
+    /**
+     * Register foreign keys of tables for parallel foreign key jobs
+     * @exception SQLException when sql error execute
+     */
+    public void initializeForeignKeys() throws SQLException {
+        ForeignKeyScheduler scheduler = new ForeignKeyScheduler();
+        String owner = ctx.getOwner();
+        for (String tableName : ctx.getTables()) {
+            for (MetadataCatalog.ConstraintInfo info : tableInfo(owner, tableName).getConstraints()) {
+                if (!info.getType().equals("R")) continue;
+                if (ctx.getJournal().isForeignKeyDone(info.getName())) continue; // previous run
+                if (!isForeignKeyTransferred(owner, tableName, info)) continue;
+                MetadataCatalog.ConstraintInfo refConstraint =
+                        ctx.getCatalog().getConstraint(srcConnection, info.getRefOwner(), info.getRefConstraintName());
+                // referenced table of other owner or not transferred is ready
+                String refTableName = refConstraint != null && info.getRefOwner().equals(owner)
+                        && ctx.getTables().contains(refConstraint.getTableName())
+                        ? refConstraint.getTableName() : null;
+                scheduler.register(tableName, info.getName(), refTableName);
+            }
+        }
+        ctx.setForeignKeys(scheduler);
+    }
+
+    /**
+     * Foreign keys not started by workers (serial)
+     * @exception SQLException when sql error execute
+     */
+    public void extractRemainingForeignKeysDDL() throws SQLException {
+        for (TransferJob job : ctx.getForeignKeys().remaining()) {
+            extractForeignKeyDDL(ctx.getOwner(), job.getTableName(), job.getConstraintName());
+        }
+    }
+
     public void extractSchemaForeignKeysDDL() throws SQLException {
         ctx.log("Constraints Foreign Key of Schema " + ctx.getOwner());
         ctx.writeDDL("\n--\n-- Constraints Foreign Key of Schema " + ctx.getOwner() + "\n--\n");
@@ -255,61 +433,35 @@ public class TransferManager implements AutoCloseable {
         }
     }
     
-    private String indexColumns(String owner, String indexName) throws SQLException {
-      StringBuilder sb = new StringBuilder();
-        try (PreparedStatement pstmt = srcConnection.prepareStatement(
-                          "SELECT column_name "
-                        + "FROM all_ind_columns "
-                        + "WHERE index_owner = ? AND index_name = ?")) {
-            pstmt.setString(1, owner);
-            pstmt.setString(2, indexName);
-            int i = 0;
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    if (i++ > 0) sb.append(", ");
-                    sb.append(rs.getString(1));
-                }
-            }
-        }
-        return sb.toString();
-    }
-
     private void extractTableIndexesDDL(String owner, String tableName) throws SQLException {
         ctx.log("-- Indexes for table " + owner + '.' + tableName);
         ctx.writeDDL("\n-- Indexes for table " + owner + '.' + tableName);
-        try (PreparedStatement pstmt = srcConnection.prepareStatement(
-                          "SELECT owner, index_name, index_type, uniqueness "
-                        + "FROM all_indexes "
-                        + "WHERE table_owner = ? AND table_name = ?")) {
-            pstmt.setString(1, owner);
-            pstmt.setString(2, tableName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    String indexType = rs.getString("index_type");
-                    String indexOwner = rs.getString("owner");
-                    String indexName = rs.getString("index_name");
-                    String uniqueness = rs.getString("uniqueness");
-                    if (indexType.equals("NORMAL")) {
-                        String sql =
-                            (existConstraint(indexOwner, indexName) ? "--" : "") +
-                            "CREATE " + (uniqueness.equals("UNIQUE") ? "UNIQUE " : "") + "INDEX " + indexName +
-                            " ON " + owner + '.' + tableName + '(' + indexColumns(indexOwner, indexName) + ")";
-
-                        // published
-                        ctx.writeDDL(sql + ';');
-                        if (ctx.isCreateTable()) {
-                            executeDDL(sql, "Create index " + indexOwner + '.' + indexName);
-                        }
-                    } else {
-                        ctx.log("-- Index " + indexName + " of type '" + indexType + "' ????");
-                    }
+        for (MetadataCatalog.IndexInfo info : tableInfo(owner, tableName).getIndexes()) {
+            String indexType = info.getType();
+            String indexOwner = info.getOwner();
+            String indexName = info.getName();
+            String uniqueness = info.getUniqueness();
+            if (!isTransferred(owner, tableName, info.getColumns(), null)) {
+                ctx.log("-- Index " + indexName + " uses excluded columns ... Skip");
+            } else if (indexType.equals("NORMAL")) {
+                String sql =
+                    (existConstraint(indexOwner, indexName) ? "--" : "") +
+                    "CREATE " + (uniqueness.equals("UNIQUE") ? "UNIQUE " : "") + "INDEX " + indexName +
+                    " ON " + owner + '.' + tableName + '(' + joinColumns(info.getColumns()) + ")";
+
+                // published
+                ctx.writeDDL(sql + ';');
+                if (ctx.isCreateTable()) {
+                    executeDDL(sql, "Create index " + indexOwner + '.' + indexName);
                 }
+            } else {
+                ctx.log("-- Index " + indexName + " of type '" + indexType + "' ????");
             }
         }
     }
     
     // PostgreSQL Data Type Convert
-    private String postgresColumnType(String dataType, String dataLength, int dataScale, int dataPrecision) {
+    static String postgresColumnType(String dataType, String dataLength, int dataScale, int dataPrecision) {
         String pgType;
         
         switch (dataType) {
@@ -405,7 +557,11 @@ public class TransferManager implements AutoCloseable {
         return pgType;
     }
 
-    private void extractTableDDL(String owner, String tableName) throws SQLException {
+    /**
+     * Extract DDL of table
+     * @return true when table is created (or target is not changed)
+     */
+    private boolean extractTableDDL(String owner, String tableName) throws SQLException {
 
         ctx.log("-- Table " + owner + '.' + tableName);
         ctx.writeDDL("\n--\n-- Table " + owner + '.' + tableName + "\n--\n");
@@ -414,7 +570,7 @@ public class TransferManager implements AutoCloseable {
         extractDropTableDDL(owner, tableName);
 
         // Create table
-        extractCreateTableDDL(owner, tableName);
+        boolean created = extractCreateTableDDL(owner, tableName);
 
         // Comments for table
         ctx.log("-- Comments for table " + owner + '.' + tableName);
@@ -424,13 +580,16 @@ public class TransferManager implements AutoCloseable {
         // Comments for table columns
         extractTableColumnCommentsDDL(owner, tableName);
 
-        // Constraints for Table (Primary Key, Unique, Check)
-        extractTableConstraintsPUC(owner, tableName);
+        if (!ctx.isPostLoadIndexes()) {
+            // Constraints for Table (Primary Key, Unique, Check)
+            extractTableConstraintsPUC(owner, tableName);
 
-        // Indexes for Table
-        extractTableIndexesDDL(owner, tableName);
+            // Indexes for Table
+            extractTableIndexesDDL(owner, tableName);
+        }
 
         // Sequence ???
+        return created;
     }
 
     private void extractDropTableDDL(String owner, String tableName) {
@@ -441,72 +600,58 @@ public class TransferManager implements AutoCloseable {
         }
     }
 
-    private void extractCreateTableDDL(String owner, String tableName) throws SQLException {
+    private boolean extractCreateTableDDL(String owner, String tableName) throws SQLException {
         StringBuilder sb = new StringBuilder("CREATE TABLE " + owner + '.' + tableName + " (\n");
         // Columns
-        try (PreparedStatement pstmt = srcConnection.prepareStatement(
-                "SELECT column_name, data_type, data_length, data_scale, data_precision, nullable, data_default "
-                        + "FROM all_tab_columns "
-                        + "WHERE owner = ? AND table_name = ? "
-                        + "ORDER BY column_id")) {
-            pstmt.setString(1, owner);
-            pstmt.setString(2, tableName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                int i = 0;
-                while (rs.next()) {
-                    // Line Prefix
-                    if (i++ > 0) sb.append(", ");
-                    else         sb.append("  ");
-
-                    // Column
-                    String columnName = rs.getString("column_name");
-                    sb.append(StringUtils.rpad(columnName, COLUMN_NAME_LENGTH))
-                            .append(' ');
-                    
-                    // PostgreSQL Data Type Convert
-                    String dataType = rs.getString("data_type");
-                    String dataLength = rs.getString("data_length");
-                    int dataScale = rs.getInt("data_scale");
-                    int dataPrecision = rs.getInt("data_precision");
-                    sb.append(postgresColumnType(dataType, dataLength, dataScale, dataPrecision));
-
-                    // Nullable
-                    if (rs.getString("nullable").equals("N")) sb.append(" NOT NULL");
-
-                    // Default
-                    String dataDefault = rs.getString("data_default");
-                    if (dataDefault != null && !dataDefault.isEmpty()) {
-                        // normalize
-                        dataDefault = StringUtils.rtrim(dataDefault, " \n");
-                        // System.out.println("'"+ dataDefault + "'");
-
-                        sb.append(" DEFAULT ");
-                        switch (dataDefault.toUpperCase()) {
-                            case "SYSDATE":
-                            case "SYSTIMESTAMP":
-                                sb.append("now()::timestamp");
-                                break;
-
-                            case "EMPTY_BLOB()":
-                            case "EMPTY_CLOB()":
-                                sb.append("''");
-                                break;
-
-                            default:
-                                sb.append(dataDefault);
-                        }
-                    }
-                    // End Column defenition
-                    sb.append('\n');
-                } // end while
-            } // end fetch
-        } // end select
+        int i = 0;
+        for (MetadataCatalog.ColumnInfo column : transferColumns(owner, tableName)) {
+            // Line Prefix
+            if (i++ > 0) sb.append(", ");
+            else         sb.append("  ");
+
+            // Column
+            sb.append(StringUtils.rpad(column.getName(), COLUMN_NAME_LENGTH))
+                    .append(' ');
+
+            // PostgreSQL Data Type Convert
+            sb.append(postgresColumnType(column.getDataType(), column.getDataLength(),
+                    column.getDataScale(), column.getDataPrecision()));
+
+            // Nullable
+            if (!column.isNullable()) sb.append(" NOT NULL");
+
+            // Default
+            String dataDefault = column.getDataDefault();
+            if (dataDefault != null && !dataDefault.isEmpty()) {
+                // normalize
+                dataDefault = StringUtils.rtrim(dataDefault, " \n");
+
+                sb.append(" DEFAULT ");
+                switch (dataDefault.toUpperCase()) {
+                    case "SYSDATE":
+                    case "SYSTIMESTAMP":
+                        sb.append("now()::timestamp");
+                        break;
+
+                    case "EMPTY_BLOB()":
+                    case "EMPTY_CLOB()":
+                        sb.append("''");
+                        break;
+
+                    default:
+                        sb.append(dataDefault);
+                }
+            }
+            // End Column defenition
+            sb.append('\n');
+        }
         sb.append(")");
         String sql = sb.toString();
         ctx.writeDDL(sql + ';');
         if (ctx.isCreateTable()) {
-            executeDDL(sql, "Create table " + owner + '.' + tableName);
+            return executeDDL(sql, "Create table " + owner + '.' + tableName);
         }
+        return true;
     }
 
     /**
@@ -516,24 +661,13 @@ public class TransferManager implements AutoCloseable {
      * @exception SQLException when sql error execute
      */
     private void extractTableCommentDDL(String owner, String tableName) throws SQLException {
-        try (PreparedStatement pstmt = srcConnection.prepareStatement(
-                "SELECT comments "
-                        + "FROM all_tab_comments "
-                        + "WHERE owner = ? AND table_name = ?")) {
-            pstmt.setString(1, owner);
-            pstmt.setString(2, tableName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    String comments = rs.getString(1);
-                    if (comments != null && !comments.isEmpty()) {
-                        comments = comments.replaceAll("'", "''"); // quoted apostrof
-                        String sql = "COMMENT ON TABLE " + owner + '.' + tableName + " IS '" + comments + '\'';
-                        ctx.writeDDL(sql + ';');
-                        if (ctx.isCreateTable()) {
-                            executeDDL(sql, "Create comment for table " + owner + '.' + tableName);
-                        }
-                    }
-                }
+        String comments = tableInfo(owner, tableName).getComments();
+        if (comments != null && !comments.isEmpty()) {
+            comments = comments.replaceAll("'", "''"); // quoted apostrof
+            String sql = "COMMENT ON TABLE " + owner + '.' + tableName + " IS '" + comments + '\'';
+            ctx.writeDDL(sql + ';');
+            if (ctx.isCreateTable()) {
+                executeDDL(sql, "Create comment for table " + owner + '.' + tableName);
             }
         }
     }
@@ -545,26 +679,17 @@ public class TransferManager implements AutoCloseable {
      * @exception SQLException when sql error execute
      */
     private void extractTableColumnCommentsDDL(String owner, String tableName) throws SQLException {
-        try (PreparedStatement pstmt = srcConnection.prepareStatement(
-                "SELECT column_name, comments "
-                        + "FROM all_col_comments "
-                        + "WHERE owner = ? AND table_name = ?")) {
-            pstmt.setString(1, owner);
-            pstmt.setString(2, tableName);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    String comments = rs.getString("comments");
-                    if (comments != null && !comments.isEmpty()) {
-                        comments = comments.replaceAll("'", "''"); // quoted apostrof
-                        String columnName = rs.getString("column_name");
-                        String sql = "COMMENT ON COLUMN "
-                                + owner + '.' + tableName + '.' + StringUtils.rpad(columnName, COLUMN_NAME_LENGTH) 
-                                + " IS '" + comments + '\'';
-                        ctx.writeDDL(sql + ';');
-                        if (ctx.isCreateTable()) {
-                            executeDDL(sql, "Create comment for column " + owner + '.' + tableName + '.' + columnName);
-                        }
-                    }
+        for (MetadataCatalog.ColumnInfo column : transferColumns(owner, tableName)) {
+            String comments = column.getComments();
+            if (comments != null && !comments.isEmpty()) {
+                comments = comments.replaceAll("'", "''"); // quoted apostrof
+                String columnName = column.getName();
+                String sql = "COMMENT ON COLUMN "
+                        + owner + '.' + tableName + '.' + StringUtils.rpad(columnName, COLUMN_NAME_LENGTH) 
+                        + " IS '" + comments + '\'';
+                ctx.writeDDL(sql + ';');
+                if (ctx.isCreateTable()) {
+                    executeDDL(sql, "Create comment for column " + owner + '.' + tableName + '.' + columnName);
                 }
             }
         }
@@ -572,6 +697,10 @@ public class TransferManager implements AutoCloseable {
     
     public void extractSchemaDDL() {
         String schema = ctx.getOwner();
+        if (ctx.getJournal().isSchemaCreated()) {
+            ctx.log("Resume: schema " + schema + " ... Skip");
+            return;
+        }
         ctx.log("-- Schema: " + schema);
         ctx.writeDDL("--\n-- Schema " + schema + "\n--\n");
         String sql = "DROP SCHEMA " + schema + " CASCADE";
@@ -591,75 +720,682 @@ public class TransferManager implements AutoCloseable {
         }
         ctx.writeDDL("--GRANT ALL ON SCHEMA " + schema + " TO postgres;");
         ctx.writeDDL("--GRANT ALL ON SCHEMA " + schema + " TO public;");
+        ctx.getJournal().schemaCreated();
     }
     
     public void extractSchemaTablesDDL() throws SQLException {
-        String tableName;
-        while ((tableName = ctx.getJob()) != null) {
-            extractTableDDL(ctx.getOwner(), tableName);
-            if (ctx.isTransferRows()) {
-                transferData(ctx.getOwner(), tableName);
+        processJobs();
+    }
+
+    /**
+     * Post-load phase: constraints (Primary Key, Unique, Check) and indexes of loaded tables
+     * @exception SQLException when sql error execute
+     */
+    public void extractSchemaIndexesDDL() throws SQLException {
+        setMaintenanceSession();
+        processJobs();
+    }
+
+    private void processJobs() throws SQLException {
+        String owner = ctx.getOwner();
+        TransferJournal journal = ctx.getJournal();
+        TransferJob job;
+        while ((job = ctx.getJob()) != null) {
+            ctx.beginDDL(); // DDL of job is written together
+            try {
+                processJob(owner, journal, job);
+            } finally {
+                ctx.endDDL();
+                ctx.jobFinished();
             }
         }
     }
-    
-    public Set<String> getSchemaTables() throws SQLException {
-        Set<String> tables = new TreeSet<>();
 
+    private void processJob(String owner, TransferJournal journal, TransferJob job) throws SQLException {
+        String tableName = job.getTableName();
+        switch (job.getType()) {
+            case CHUNK:
+                // chunk of split table: table already created
+                if (transferData(owner, job)) {
+                    journal.jobDone(job.getKey());
+                }
+                if (ctx.chunkDone(tableName)) {
+                    tableLoaded(tableName);
+                }
+                break;
+
+            case INDEXES:
+                extractTableConstraintsPUC(owner, tableName);
+                extractTableIndexesDDL(owner, tableName);
+                journal.indexesDone(tableName);
+                ctx.tableReady(tableName);
+                break;
+
+            case FOREIGN_KEY:
+                extractForeignKeyDDL(owner, tableName, job.getConstraintName());
+                break;
+
+            default:
+                if (ctx.isDelta()) {
+                    // rows changed after previous transfer (table exists)
+                    if (transferDelta(owner, job)) {
+                        journal.jobDone(job.getKey());
+                    }
+                    break;
+                }
+                boolean resumed = journal.isTableCreated(tableName);
+                if (resumed) {
+                    ctx.log("Resume: table " + owner + '.' + tableName + " is created");
+                } else if (extractTableDDL(owner, tableName)) {
+                    journal.tableCreated(tableName);
+                }
+                ctx.endDDL(); // DDL of table is written before transfer of rows
+                ctx.beginDDL(); // DDL after transfer (indexes, constraints)
+                if (ctx.isTransferRows()) {
+                    boolean checkpoint = resumed && journal.getCheckpointKey(job.getKey()) != null;
+                    if (resumed && !checkpoint) {
+                        // rows of interrupted transfer
+                        truncateTable(owner, tableName);
+                    }
+                    List<TransferJob> chunks = checkpoint ? new ArrayList<>() : splitTable(owner, job);
+                    if (chunks.isEmpty()) {
+                        if (transferData(owner, job)) {
+                            journal.jobDone(job.getKey());
+                        }
+                        tableLoaded(tableName);
+                    } else {
+                        ctx.log("Split table " + owner + '.' + tableName + " to " + chunks.size() + " chunks");
+                        journal.tableSplit(tableName, chunks);
+                        ctx.addChunks(tableName, chunks);
+                    }
+                } else {
+                    journal.jobDone(tableName);
+                    tableLoaded(tableName);
+                }
+        }
+    }
+
+    private void truncateTable(String owner, String tableName) {
+        executeDDL("TRUNCATE TABLE " + owner + '.' + tableName, "Truncate table " + owner + '.' + tableName);
+    }
+
+    // Table is created and loaded (ready for foreign keys when constraints are not post-load)
+    private void tableLoaded(String tableName) {
+        List<TransferJob> chunks = ctx.getJournal().getChunks(tableName);
+        if (chunks != null && chunks.stream().allMatch(chunk -> ctx.getJournal().isDone(chunk.getKey()))) {
+            ctx.getJournal().jobDone(tableName);
+        }
+        if (!ctx.isPostLoadIndexes()) {
+            ctx.tableReady(tableName);
+        }
+    }
+
+    // Session settings of target for index build
+    private void setMaintenanceSession() {
+        if (!ctx.isCreateTable()) return;
+        if (ctx.getIndexMaintenanceWorkMem() != null) {
+            executeDDL("SET maintenance_work_mem = '" + ctx.getIndexMaintenanceWorkMem() + "'",
+                    "Set maintenance_work_mem " + ctx.getIndexMaintenanceWorkMem());
+        }
+        if (ctx.getIndexParallelWorkers() >= 0) {
+            executeDDL("SET max_parallel_maintenance_workers = " + ctx.getIndexParallelWorkers(),
+                    "Set max_parallel_maintenance_workers " + ctx.getIndexParallelWorkers());
+        }
+    }
+
+    /**
+     * Split large table to chunks by ROWID extents or by numeric PK range
+     * @param owner schema owner
+     * @param tableName table name
+     * @return list of chunk jobs (empty when table is not split)
+     */
+    private List<TransferJob> splitTable(String owner, TransferJob job) {
+        String tableName = job.getTableName();
+        List<TransferJob> chunks = new ArrayList<>();
+        if (source instanceof DumpSource) {
+            // files of dump table are loaded in parallel
+            List<DumpManifest.Entry> files = ((DumpSource) source).getFiles(owner + '.' + tableName);
+            for (int i = 0; files.size() > 1 && i < files.size(); i++) {
+                chunks.add(new TransferJob(tableName, files.get(i).getFile(), i + 1, files.size(),
+                        files.get(i).getFileBytes()));
+            }
+            return chunks;
+        }
+        if (ctx.getSplitMode().equals("none") || ctx.getSampleRows() > 0 || ctx.getSplitChunks() < 2
+                || srcConnection == null) {
+            return chunks;
+        }
+        try {
+            long numRows = tableNumRows(owner, tableName);
+            // rebalance: split tail tables when other threads have no jobs
+            boolean tail = ctx.isRebalance() && ctx.getPendingJobs() < ctx.getThreadsNum()
+                    && numRows >= (long) ctx.getChunkSize() * ctx.getSplitChunks();
+            if (numRows < ctx.getSplitMinRows() && !tail) {
+                return chunks;
+            }
+            switch (ctx.getSplitMode()) {
+                case "rowid":
+                    splitTableByRowid(owner, tableName, job.getCost(), chunks);
+                    break;
+                case "pk":
+                    splitTableByPrimaryKey(owner, tableName, job.getCost(), chunks);
+                    break;
+                default:
+                    ctx.warning("Unknown split mode '" + ctx.getSplitMode() + "'");
+            }
+        } catch (SQLException ex) {
+            ctx.warning("Split table " + owner + '.' + tableName + ": " + ex.getLocalizedMessage());
+            chunks.clear();
+        }
+        return chunks;
+    }
+
+    private long tableNumRows(String owner, String tableName) throws SQLException {
+        return tableInfo(owner, tableName).getNumRows();
+    }
+
+    private void splitTableByRowid(String owner, String tableName, long cost, List<TransferJob> chunks) throws SQLException {
+        List<String[]> extents = new ArrayList<>(); // {data_object_id, lo_rowid, hi_rowid, blocks}
+        long totalBlocks = 0;
         try (PreparedStatement pstmt = srcConnection.prepareStatement(
-                          "SELECT table_name "
-                        + "FROM all_tables "
-                        + "WHERE owner = ?")) {
-            pstmt.setString(1, ctx.getOwner());
-            // table of Schema
+                          "SELECT o.data_object_id, "
+                        + "ROWIDTOCHAR(DBMS_ROWID.ROWID_CREATE(1, o.data_object_id, e.relative_fno, e.block_id, 0)), "
+                        + "ROWIDTOCHAR(DBMS_ROWID.ROWID_CREATE(1, o.data_object_id, e.relative_fno, e.block_id + e.blocks - 1, 32767)), "
+                        + "e.blocks "
+                        + "FROM dba_extents e JOIN all_objects o "
+                        + "ON o.owner = e.owner AND o.object_name = e.segment_name "
+                        + "AND NVL(o.subobject_name, '-') = NVL(e.partition_name, '-') "
+                        + "AND o.object_type LIKE 'TABLE%' "
+                        + "WHERE e.owner = ? AND e.segment_name = ? "
+                        + "ORDER BY o.data_object_id, e.relative_fno, e.block_id")) {
+            pstmt.setString(1, owner);
+            pstmt.setString(2, tableName);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    tables.add(rs.getString(1));
+                    extents.add(new String[] { rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4) });
+                    totalBlocks += rs.getLong(4);
                 }
             }
         }
-        
-        return tables;
+        if (extents.size() < 2) return;
+
+        // group neighbour extents of one data object to chunks with equal blocks
+        long chunkBlocks = Math.max(1, totalBlocks / ctx.getSplitChunks());
+        List<String> conditions = new ArrayList<>();
+        String loRowid = null;
+        String hiRowid = null;
+        String objectId = null;
+        long blocks = 0;
+        for (String[] extent : extents) {
+            if (loRowid != null && (blocks >= chunkBlocks || !extent[0].equals(objectId))) {
+                conditions.add("ROWID BETWEEN CHARTOROWID('" + loRowid + "') AND CHARTOROWID('" + hiRowid + "')");
+                loRowid = null;
+                blocks = 0;
+            }
+            if (loRowid == null) loRowid = extent[1];
+            hiRowid = extent[2];
+            objectId = extent[0];
+            blocks += Long.parseLong(extent[3]);
+        }
+        conditions.add("ROWID BETWEEN CHARTOROWID('" + loRowid + "') AND CHARTOROWID('" + hiRowid + "')");
+
+        for (int i = 0; i < conditions.size(); i++) {
+            chunks.add(new TransferJob(tableName, conditions.get(i), i + 1, conditions.size(), cost / conditions.size()));
+        }
+    }
+
+    // Columns of primary key (empty when table has no primary key)
+    private List<String> primaryKeyColumns(String owner, String tableName) throws SQLException {
+        for (MetadataCatalog.ConstraintInfo constraint : tableInfo(owner, tableName).getConstraints()) {
+            if (constraint.getType().equals("P")) {
+                return constraint.getColumns();
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    // Single numeric column of primary key or null
+    private String primaryKeyColumn(String owner, String tableName) throws SQLException {
+        MetadataCatalog.TableInfo table = tableInfo(owner, tableName);
+        for (MetadataCatalog.ConstraintInfo constraint : table.getConstraints()) {
+            if (constraint.getType().equals("P") && constraint.getColumns().size() == 1) {
+                MetadataCatalog.ColumnInfo column = table.getColumn(constraint.getColumns().get(0));
+                if (column != null && column.getDataType().equals("NUMBER")) {
+                    return column.getName();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void splitTableByPrimaryKey(String owner, String tableName, long cost, List<TransferJob> chunks) throws SQLException {
+        // single numeric column of primary key
+        String columnName = primaryKeyColumn(owner, tableName);
+        if (columnName == null) {
+            ctx.warning("Split table " + owner + '.' + tableName + ": single numeric primary key not found");
+            return;
+        }
+
+        BigDecimal minValue;
+        BigDecimal maxValue;
+        try (Statement stmt = srcConnection.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT MIN(" + columnName + "), MAX(" + columnName + ") FROM " + sourceTable(owner, tableName))) {
+            rs.next();
+            minValue = rs.getBigDecimal(1);
+            maxValue = rs.getBigDecimal(2);
+        }
+        if (minValue == null || minValue.compareTo(maxValue) == 0) return;
+
+        int chunkCount = ctx.getSplitChunks();
+        BigDecimal step = maxValue.subtract(minValue)
+                .divide(BigDecimal.valueOf(chunkCount), 0, RoundingMode.CEILING)
+                .max(BigDecimal.ONE);
+        BigDecimal lo = minValue;
+        List<String> conditions = new ArrayList<>();
+        while (lo.compareTo(maxValue) <= 0) {
+            BigDecimal hi = lo.add(step);
+            if (hi.compareTo(maxValue) > 0) {
+                conditions.add(columnName + " >= " + lo.toPlainString());
+            } else {
+                conditions.add(columnName + " >= " + lo.toPlainString() + " AND " + columnName + " < " + hi.toPlainString());
+            }
+            lo = hi;
+        }
+
+        for (int i = 0; i < conditions.size(); i++) {
+            chunks.add(new TransferJob(tableName, conditions.get(i), i + 1, conditions.size(), cost / conditions.size()));
+        }
+    }
+    
+    public Set<String> getSchemaTables() throws SQLException {
+        return source.getTables(ctx.getOwner());
     }
 
     /**
      * Transfer table data
      * @author Alexey Novikov <anovikov9004 at inbox.ru>
      */
-    private void transferData(String owner, String tableName) {
-        ctx.log("Transfer data for table " + owner + '.' + tableName);
+    private boolean transferData(String owner, TransferJob job) {
+        if (source instanceof DumpSource) {
+            return loadDump(owner, job);
+        }
+        String tableName = job.getTableName();
+        TransferJournal journal = ctx.getJournal();
+        ctx.log("Transfer data for table " + owner + '.' + job);
         
-        try (Statement srcStmt  = srcConnection.createStatement();) {
+        try {
+            // checkpoint by numeric primary key when rows are committed every commitRows
+            // (target without database has no transactions: COPY is finished, dump file is rotated)
+            int commitRows = ctx.isCopyStream() || ctx.isPipeline() ? ctx.getCommitRows() : 0;
+            String keyColumn = null;
+            String lastKey = null;
+            if (journal.isEnabled() && commitRows > 0 && destConnection != null) {
+                keyColumn = primaryKeyColumn(owner, tableName);
+                if (keyColumn == null) {
+                    ctx.info(owner + '.' + job + ": numeric primary key not found, commit at end of transfer");
+                    commitRows = 0;
+                } else {
+                    lastKey = journal.getCheckpointKey(job.getKey());
+                }
+            }
+
             // source select
-            srcStmt.setFetchSize(ctx.getChunkSize());
-            try (ResultSet rs = srcStmt.executeQuery("SELECT * FROM "  + owner + '.' + tableName)) {
-                long rowCount;
-                if (isLobField(rs.getMetaData())) {
-                    rowCount = transferWithInsert(owner, tableName, rs);
+            BatchSizer sizer = createSizer(owner, tableName);
+            ctx.info(owner + '.' + job + ": batch size " + sizer);
+            // select list of transferred columns in order of table
+            List<MetadataCatalog.ColumnInfo> columns = transferColumns(owner, tableName);
+            String srcSql = "SELECT " + columnList(columns, true) + " FROM "
+                    + sourceTable(owner, tableName, sampleClause(owner, tableName));
+            List<String> conditions = new ArrayList<>();
+            if (ctx.getSampleRows() > 0) {
+                // stop scan of source after sample rows (before sort by key)
+                conditions.add("ROWNUM <= " + ctx.getSampleRows());
+            }
+            if (job.isChunk()) {
+                conditions.add(job.getCondition());
+            }
+            String where = ctx.getTableOption(tableName, "where");
+            if (where != null) {
+                conditions.add('(' + where + ')');
+            }
+            if (lastKey != null) {
+                ctx.log("Resume: " + owner + '.' + job + " after " + keyColumn + " = " + lastKey);
+                conditions.add(keyColumn + " > " + lastKey);
+            }
+            if (!conditions.isEmpty()) {
+                srcSql += " WHERE " + String.join(" AND ", conditions);
+            }
+            if (keyColumn != null) {
+                srcSql += " ORDER BY " + keyColumn;
+            }
+            TransferMetrics.Probe probe = ctx.getMetrics().start(owner + '.' + tableName, workerName);
+            try (ResultSet rs = source.openRows(owner, tableName, columns, srcSql, sizer.getFetchSize())) {
+                boolean lob = isLobField(rs.getMetaData());
+                boolean insert = lob && ctx.isLobInsert() && destConnection != null;
+                // with journal rows are committed at once (except checkpoints of copy stream)
+                boolean atomic = journal.isEnabled() && (insert || commitRows == 0) && destConnection != null;
+                boolean autoCommit = atomic && destConnection.getAutoCommit();
+                if (atomic) destConnection.setAutoCommit(false);
+                try {
+                    long rowCount;
+                    if (insert) {
+                        rowCount = transferWithInsert(owner + '.' + tableName, rs, sizer, probe);
+                    } else if (lob) {
+                        // LOB values are streamed from locators while row is written (no pipeline)
+                        rowCount = transferWithCopyStream(owner + '.' + tableName, job, rs, sizer, probe, commitRows, keyColumn, false);
+                    } else if (ctx.isCopyStream() || ctx.isPipeline()) {
+                        rowCount = transferWithCopyStream(owner + '.' + tableName, job, rs, sizer, probe, commitRows, keyColumn, ctx.isPipeline());
+                    } else {
+                        rowCount = transferWithCopyManager(owner + '.' + tableName, rs, sizer, probe);
+                    }
+                    target.finish();
+                    if (atomic) destConnection.commit();
+                    ctx.log(owner + '.' + job + " Copied " + rowCount + " rows");
+                } catch (SQLException | IOException ex) {
+                    target.discard();
+                    if (atomic) destConnection.rollback();
+                    throw ex;
+                } finally {
+                    if (atomic) destConnection.setAutoCommit(autoCommit);
+                }
+            } finally {
+                probe.finish();
+            }
+            return true;
+        } catch (SQLException | IOException ex) {
+            ctx.error("transferData for table " + owner + '.' + job + ": " + ex.getLocalizedMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Load COPY data files of dump (all files of table or file of chunk) to target
+     * as is: files are read by channel, rows are not parsed
+     * @param owner schema owner
+     * @param job table or chunk (condition is file of chunk)
+     * @return true when files are loaded
+     */
+    private boolean loadDump(String owner, TransferJob job) {
+        String tableName = job.getTableName();
+        DumpSource dump = (DumpSource) source;
+        ctx.log("Load dump for table " + owner + '.' + job);
+        List<DumpManifest.Entry> files = new ArrayList<>();
+        for (DumpManifest.Entry entry : dump.getFiles(owner + '.' + tableName)) {
+            if (!job.isChunk() || entry.getFile().equals(job.getCondition())) files.add(entry);
+        }
+        // with journal rows of table (chunk) are committed at once
+        boolean atomic = ctx.getJournal().isEnabled() && destConnection != null;
+        TransferMetrics.Probe probe = ctx.getMetrics().start(owner + '.' + tableName, workerName);
+        try {
+            boolean autoCommit = atomic && destConnection.getAutoCommit();
+            if (atomic) destConnection.setAutoCommit(false);
+            try {
+                long rowCount = 0;
+                for (DumpManifest.Entry entry : files) {
+                    rowCount += loadDumpFile(dump.getDirectory(), entry, probe);
+                }
+                target.finish();
+                if (atomic) destConnection.commit();
+                ctx.log(owner + '.' + job + " Loaded " + rowCount + " rows from " + files.size() + " files");
+            } catch (SQLException | IOException ex) {
+                target.discard();
+                if (atomic) destConnection.rollback();
+                throw ex;
+            } finally {
+                if (atomic) destConnection.setAutoCommit(autoCommit);
+            }
+            return true;
+        } catch (SQLException | IOException ex) {
+            ctx.error("loadDump for table " + owner + '.' + job + ": " + ex.getLocalizedMessage());
+            return false;
+        } finally {
+            probe.finish();
+        }
+    }
+
+    // One COPY command of dump file, checksum of file is verified before end of COPY
+    private long loadDumpFile(File directory, DumpManifest.Entry entry, TransferMetrics.Probe probe)
+            throws SQLException, IOException {
+        File file = new File(directory, entry.getFile());
+        ctx.info("Load file " + file + ": {" + entry.getSql() + "}");
+        CRC32 checksum = new CRC32();
+        byte[] buffer = new byte[DUMP_BUFFER_SIZE];
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        long readNanos = 0;
+        long writeNanos = 0;
+        TransferTarget.Copy copy = target.copyIn(entry.getTable(), entry.getSql());
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+                InputStream in = entry.getCompression().equals("gzip")
+                        ? new GZIPInputStream(new CheckedInputStream(Channels.newInputStream(channel), checksum), DUMP_BUFFER_SIZE)
+                        : null) {
+            while (true) {
+                long start = System.nanoTime();
+                int len;
+                if (in != null) {
+                    len = in.read(buffer);
                 } else {
-                    rowCount = transferWithCopyManager(owner, tableName, rs);
+                    byteBuffer.clear();
+                    len = channel.read(byteBuffer);
+                    if (len > 0) checksum.update(buffer, 0, len);
+                }
+                long read = System.nanoTime();
+                readNanos += read - start;
+                if (len < 0) break;
+                copy.writeToCopy(buffer, 0, len);
+                writeNanos += System.nanoTime() - read;
+            }
+            if (checksum.getValue() != entry.getChecksum()) {
+                throw new IOException("Checksum of file " + file + " is not valid");
+            }
+            long start = System.nanoTime();
+            long rowCount = copy.endCopy(entry.getRows());
+            writeNanos += System.nanoTime() - start;
+            if (rowCount != entry.getRows()) {
+                ctx.warning("File " + file + ": " + rowCount + " rows loaded, " + entry.getRows() + " rows in manifest");
+            }
+            probe.fetched(rowCount, readNanos);
+            probe.encoded(entry.getBytes(), 0);
+            probe.written(writeNanos);
+            return rowCount;
+        } finally {
+            if (copy.isActive()) copy.cancelCopy();
+        }
+    }
+
+    /**
+     * Current SCN of source database
+     * @return SCN or 0 when it is not available
+     */
+    private long currentScn() {
+        String[] queries = {
+            "SELECT current_scn FROM v$database",
+            "SELECT DBMS_FLASHBACK.GET_SYSTEM_CHANGE_NUMBER FROM dual"
+        };
+        for (String sql : queries) {
+            try (Statement stmt = srcConnection.createStatement();
+                    ResultSet rs = stmt.executeQuery(sql)) {
+                if (rs.next()) return rs.getLong(1);
+            } catch (SQLException ex) {
+                ctx.info("Current SCN {" + sql + "}: " + ex.getLocalizedMessage());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Source table in query: flashback query AS OF SCN of start of transfer,
+     * so all workers and chunks read one consistent snapshot without locks
+     */
+    private String sourceTable(String owner, String tableName) {
+        return sourceTable(owner, tableName, "");
+    }
+
+    private String sourceTable(String owner, String tableName, String sample) {
+        long scn = ctx.getSnapshotScn();
+        return owner + '.' + tableName + sample + (scn > 0 ? " AS OF SCN " + scn : "");
+    }
+
+    /**
+     * Sample clause of table in sample mode random (SAMPLE) or block (SAMPLE BLOCK):
+     * percent of sample is twice of sampleRows of num_rows statistics, so ROWNUM limit
+     * is reached in most cases
+     * @return sample clause or empty string (first rows, statistics are not available)
+     */
+    private String sampleClause(String owner, String tableName) throws SQLException {
+        String mode = ctx.getSampleMode();
+        if (ctx.getSampleRows() <= 0 || mode.equals("first")) return "";
+        if (!mode.equals("random") && !mode.equals("block")) {
+            ctx.warning("Unknown sample mode '" + mode + "'");
+            return "";
+        }
+        long numRows = tableNumRows(owner, tableName);
+        if (numRows <= 0) return "";
+        double percent = Math.max(0.000001, ctx.getSampleRows() * 200.0 / numRows);
+        if (percent >= 100) return "";
+        return (mode.equals("block") ? " SAMPLE BLOCK (" : " SAMPLE (")
+                + BigDecimal.valueOf(percent).setScale(6, RoundingMode.UP).toPlainString() + ")";
+    }
+
+    /**
+     * Batch size of table: table.&lt;TABLE&gt;.chunkSize (fixed rows),
+     * table.&lt;TABLE&gt;.batchBytes or transfer.batchBytes (adaptive by bytes)
+     */
+    private BatchSizer createSizer(String owner, String tableName) throws SQLException {
+        String rows = ctx.getTableOption(tableName, "chunkSize");
+        if (rows != null) {
+            return new BatchSizer(0, 0, Integer.parseInt(rows));
+        }
+        String bytes = ctx.getTableOption(tableName, "batchBytes");
+        long targetBytes = bytes != null ? Long.parseLong(bytes) : ctx.getBatchBytes();
+        long avgRowLen = targetBytes > 0 ? tableInfo(owner, tableName).getAvgRowLen() : 0;
+        return new BatchSizer(targetBytes, avgRowLen, ctx.getChunkSize());
+    }
+
+    /**
+     * Capture SCN of source at start of transfer (SCN of first run on resume)
+     */
+    public void initializeScn() {
+        if (srcConnection == null) return; // source without database
+        TransferJournal journal = ctx.getJournal();
+        long scn = journal.getStartScn();
+        if (scn == 0) {
+            scn = currentScn();
+            if (scn == 0) {
+                ctx.warning("Current SCN of source is not available: delta transfer and snapshot are not possible");
+                return;
+            }
+            journal.start(scn);
+        }
+        ctx.setStartScn(scn);
+        ctx.log("Start SCN: " + scn + (ctx.isSnapshot() ? " (snapshot AS OF SCN)" : ""));
+    }
+
+    /**
+     * Transfer rows changed after SCN of previous transfer:
+     * changed rows (ORA_ROWSCN) are copied to staging table and merged by primary key,
+     * deleted rows (flashback versions query) are deleted by primary key
+     */
+    private boolean transferDelta(String owner, TransferJob job) {
+        String tableName = job.getTableName();
+        String table = owner + '.' + tableName;
+        long fromScn = ctx.getDeltaFromScn();
+        ctx.log("Transfer delta for table " + table + " since SCN " + fromScn);
+        try {
+            if (srcConnection == null || destConnection == null) {
+                throw new SQLException("delta transfer requires Oracle source and PostgreSQL target");
+            }
+            List<String> keyColumns = primaryKeyColumns(owner, tableName);
+            if (keyColumns.isEmpty()) {
+                throw new SQLException("primary key not found");
+            }
+            String keys = joinColumns(keyColumns);
+            StringBuilder keyJoin = new StringBuilder();
+            for (String column : keyColumns) {
+                if (keyJoin.length() > 0) keyJoin.append(" AND ");
+                keyJoin.append("t.").append(column).append(" = s.").append(column);
+            }
+            List<MetadataCatalog.ColumnInfo> columns = transferColumns(owner, tableName);
+            String columnList = columnList(columns, false);
+            StringBuilder update = new StringBuilder();
+            for (MetadataCatalog.ColumnInfo column : columns) {
+                if (keyColumns.contains(column.getName())) continue;
+                if (update.length() > 0) update.append(", ");
+                update.append(column.getName()).append(" = EXCLUDED.").append(column.getName());
+            }
+
+            boolean autoCommit = destConnection.getAutoCommit();
+            destConnection.setAutoCommit(false);
+            TransferMetrics.Probe probe = ctx.getMetrics().start(table, workerName);
+            try (Statement srcStmt = srcConnection.createStatement();
+                    Statement destStmt = destConnection.createStatement()) {
+                BatchSizer sizer = createSizer(owner, tableName);
+                srcStmt.setFetchSize(sizer.getFetchSize());
+                long deleted = 0;
+                if (ctx.isDeltaDeletes()) {
+                    destStmt.executeUpdate("CREATE TEMPORARY TABLE " + DELTA_DELETES_TABLE + " ON COMMIT DROP AS "
+                            + "SELECT " + keys + " FROM " + table + " WITH NO DATA");
+                    String toScn = ctx.getSnapshotScn() > 0 ? String.valueOf(ctx.getSnapshotScn()) : "MAXVALUE";
+                    try (ResultSet rs = srcStmt.executeQuery("SELECT DISTINCT " + keys + " FROM " + table
+                            + " VERSIONS BETWEEN SCN " + fromScn + " AND " + toScn + " WHERE versions_operation = 'D'")) {
+                        transferWithCopyManager(DELTA_DELETES_TABLE, rs, new BatchSizer(0, 0, ctx.getChunkSize()), probe);
+                    }
+                    deleted = destStmt.executeUpdate("DELETE FROM " + table + " t USING " + DELTA_DELETES_TABLE + " s WHERE " + keyJoin);
+                }
+
+                destStmt.executeUpdate("CREATE TEMPORARY TABLE " + DELTA_ROWS_TABLE
+                        + " (LIKE " + table + " INCLUDING DEFAULTS) ON COMMIT DROP");
+                long rowCount;
+                String where = ctx.getTableOption(tableName, "where");
+                try (ResultSet rs = srcStmt.executeQuery("SELECT " + columnList(columns, true)
+                        + " FROM " + sourceTable(owner, tableName)
+                        + " WHERE ORA_ROWSCN > " + fromScn + (where != null ? " AND (" + where + ')' : ""))) {
+                    if (isLobField(rs.getMetaData())) {
+                        rowCount = ctx.isLobInsert() ? transferWithInsert(DELTA_ROWS_TABLE, rs, sizer, probe)
+                                : transferWithCopyStream(DELTA_ROWS_TABLE, job, rs, sizer, probe, 0, null, false);
+                    } else {
+                        rowCount = transferWithCopyManager(DELTA_ROWS_TABLE, rs, sizer, probe);
+                    }
                 }
-                ctx.log(owner + '.' + tableName + " Copied " + rowCount + " rows");
-            } 
+                long merged = destStmt.executeUpdate("INSERT INTO " + table + " (" + columnList + ")"
+                        + " SELECT " + columnList + " FROM " + DELTA_ROWS_TABLE
+                        + " ON CONFLICT (" + keys + ") DO "
+                        + (update.length() > 0 ? "UPDATE SET " + update : "NOTHING"));
+                destConnection.commit();
+                ctx.log(table + " Delta " + rowCount + " rows, merged " + merged + " rows, deleted " + deleted + " rows");
+            } catch (SQLException | IOException ex) {
+                destConnection.rollback();
+                throw ex;
+            } finally {
+                destConnection.setAutoCommit(autoCommit);
+                probe.finish();
+            }
+            return true;
         } catch (SQLException | IOException ex) {
-            ctx.error("transferData for table " + owner + '.' + tableName + ": " + ex.getLocalizedMessage());
+            ctx.error("transferDelta for table " + table + ": " + ex.getLocalizedMessage());
+            return false;
         }
     }
 
+    // BLOB, CLOB, NCLOB, LONG (LONGVARCHAR) or LONG RAW (LONGVARBINARY) column
     private boolean isLobField(ResultSetMetaData metaData) throws SQLException {
         boolean isLobField = false;
         for (int i = 1; i <= metaData.getColumnCount(); i++) {
-            int columnType = metaData.getColumnType(i);
-            if (columnType == Types.BLOB || columnType == Types.CLOB) {
-                isLobField = true;
-                break;
+            switch (metaData.getColumnType(i)) {
+                case Types.BLOB:
+                case Types.CLOB:
+                case Types.NCLOB:
+                case Types.LONGVARCHAR:
+                case Types.LONGVARBINARY:
+                    isLobField = true;
+                    break;
+                default:
             }
         }
         return isLobField;
     }
 
-    private String createInsertSql(String owner, String tableName, ResultSetMetaData metaData) throws SQLException {
-        StringBuilder sb = new StringBuilder("INSERT INTO " + owner + '.' + tableName + "(");
+    private String createInsertSql(String destTable, ResultSetMetaData metaData) throws SQLException {
+        StringBuilder sb = new StringBuilder("INSERT INTO " + destTable + "(");
         for (int i = 1; i <= metaData.getColumnCount(); i++) {
             if (i > 1) sb.append(",");
             sb.append(metaData.getColumnName(i));
@@ -673,101 +1409,264 @@ public class TransferManager implements AutoCloseable {
         return sb.toString();
     }
 
-    private long transferWithInsert(String owner, String tableName, final ResultSet rs) throws SQLException {
+    private long transferWithInsert(String destTable, final ResultSet rs, BatchSizer sizer, TransferMetrics.Probe probe)
+            throws SQLException {
         ResultSetMetaData metaData = rs.getMetaData();
-        String destSql = createInsertSql(owner, tableName, metaData);
+        String destSql = createInsertSql(destTable, metaData);
         ctx.info("Using Insert SQL: {" + destSql + "}");
+        ColumnCodec[] codecs = isOracleFetch() ? OracleCodecs.forSource(metaData) : ColumnCodec.forSource(metaData);
+        Object[] row = new Object[codecs.length];
         long rowCount = 0;
+        int batchRows = 0;
+        long fetchNanos = 0;
+        long encodeNanos = 0;
         try (PreparedStatement pstmt = destConnection.prepareStatement(destSql);) {
-            while (rs.next()) {
+            long start = System.nanoTime();
+            while (sizer.next(rs)) {
                 if (ctx.getSampleRows() > 0 && rowCount >= ctx.getSampleRows()) break;
+                for (int i = 0; i < codecs.length; i++) {
+                    row[i] = codecs[i].read(rs, i + 1);
+                }
+                long fetched = System.nanoTime();
+                fetchNanos += fetched - start;
                 // set parameters
                 pstmt.clearParameters();
-                for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                    switch(metaData.getColumnType(i)) {
-                        case Types.BLOB:
-                            Blob srcBlob = rs.getBlob(i);
-                            if (srcBlob != null) {
-                                pstmt.setBinaryStream(i, srcBlob.getBinaryStream());
-                            } else {
-                                pstmt.setNull(i, Types.BINARY);
-                            }
-                            break;
-                            
-                        case Types.CLOB:
-                            Clob srcClob = rs.getClob(i);
-                            if (srcClob != null) {
-                                pstmt.setCharacterStream(i, srcClob.getCharacterStream());
-                            } else {
-                                pstmt.setNull(i, Types.LONGVARCHAR);
-                            }
-                            break;
-                            
-                        case Types.NCLOB:
-                            NClob srcNClob = rs.getNClob(i);
-                            if (srcNClob != null) {
-                                pstmt.setCharacterStream(i, srcNClob.getCharacterStream());
-                            } else {
-                                pstmt.setNull(i, Types.LONGVARCHAR);
-                            }
-                            break;
-                            
-                        default:
-                            pstmt.setObject(i, rs.getObject(i));
-                    }
+                for (int i = 0; i < codecs.length; i++) {
+                    codecs[i].bind(pstmt, i + 1, row[i]);
                 }
                 // add record
                 pstmt.addBatch();
-                if (++rowCount % ctx.getChunkSize() == 0) {
+                rowCount++;
+                start = System.nanoTime();
+                encodeNanos += start - fetched;
+                if (++batchRows >= sizer.getRows()) {
                     // insert records
+                    probe.fetched(batchRows, fetchNanos);
+                    probe.encoded(0, encodeNanos);
                     pstmt.executeBatch();
+                    probe.written(System.nanoTime() - start);
+                    batchRows = 0;
+                    fetchNanos = 0;
+                    encodeNanos = 0;
+                    start = System.nanoTime();
                 }
             }
-            pstmt.executeBatch(); // insert remaining records
+            // insert remaining records
+            probe.fetched(batchRows, fetchNanos);
+            probe.encoded(0, encodeNanos);
+            start = System.nanoTime();
+            pstmt.executeBatch();
+            probe.written(System.nanoTime() - start);
         }
         return rowCount;
     }
 
-    private long transferWithCopyManager(String owner, String tableName, final ResultSet rs) throws SQLException, IOException {
-        ctx.info("Using Copy Manager");
-        // target copy manager
-        CopyManager copyMgr = new CopyManager((BaseConnection) destConnection);
-        String destSql = "COPY " + owner + '.' + tableName + " FROM STDIN WITH DELIMITER ',' NULL 'null' CSV";
-        ResultSetMetaData metaData = rs.getMetaData();
-        StringBuilder csvBuffer = new StringBuilder();
-        long rowCount = 0; 
-        while (rs.next()) {
-            if (ctx.getSampleRows() > 0 && rowCount >= ctx.getSampleRows()) break;
-            // save record to csv buffer
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                if (i > 1) csvBuffer.append(',');
-                String val = rs.getString(i);
-                int valType = metaData.getColumnType(i);
-                if (val != null &&
-                        (valType == Types.VARCHAR || valType == Types.CHAR || valType == Types.CLOB
-                        || valType == Types.NVARCHAR || valType == Types.NCHAR || valType == Types.NCLOB)) {
-                    val = val.replaceAll("\"", "\"\""); // quoted quotes
-                    csvBuffer.append('"').append(val).append('"');
-                } else {
-                    csvBuffer.append(val);
+    // Oracle native fetch (source Oracle database)
+    private boolean isOracleFetch() {
+        return ctx.isOracleFetch() && srcConnection != null;
+    }
+
+    private CopyEncoder createEncoder(String destTable, final ResultSet rs) throws SQLException {
+        if (ctx.getCopyFormat().equals("binary") && destConnection == null) {
+            // target without database: binary types by source columns
+            return new BinaryCopyEncoder(ColumnCodec.forSource(rs.getMetaData()));
+        }
+        if (ctx.getCopyFormat().equals("binary")) {
+            try (Statement destStmt = destConnection.createStatement();
+                    ResultSet destRs = destStmt.executeQuery("SELECT " + columnList(rs.getMetaData())
+                            + " FROM " + destTable + " WHERE 1 = 0")) {
+                if (isOracleFetch()) {
+                    return new BinaryCopyEncoder(OracleCodecs.forTarget(rs.getMetaData(), destRs.getMetaData()));
+                }
+                return new BinaryCopyEncoder(rs.getMetaData(), destRs.getMetaData());
+            }
+        }
+        if (isOracleFetch()) {
+            return new CsvCopyEncoder(OracleCodecs.forSource(rs.getMetaData()));
+        }
+        return new CsvCopyEncoder(rs.getMetaData());
+    }
+
+    private long transferWithCopyManager(String destTable, final ResultSet rs, BatchSizer sizer, TransferMetrics.Probe probe)
+            throws SQLException, IOException {
+        ctx.info("Using Copy Manager (" + ctx.getCopyFormat() + ")");
+        CopyEncoder encoder = createEncoder(destTable, rs);
+        try {
+            String destSql = "COPY " + destTable + " (" + columnList(rs.getMetaData()) + ") FROM STDIN " + encoder.copyOptions();
+            Object[] row = new Object[rs.getMetaData().getColumnCount()];
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(COPY_BUFFER_SIZE);
+            DataOutputStream out = new DataOutputStream(buffer);
+            encoder.writeHeader(out);
+            long rowCount = 0;
+            int batchRows = 0;
+            long fetchNanos = 0;
+            long encodeNanos = 0;
+            long start = System.nanoTime();
+            while (sizer.next(rs)) {
+                if (ctx.getSampleRows() > 0 && rowCount >= ctx.getSampleRows()) break;
+                // save record to buffer
+                encoder.readRow(rs, row);
+                long fetched = System.nanoTime();
+                fetchNanos += fetched - start;
+                encoder.writeRow(row, out);
+                start = System.nanoTime();
+                encodeNanos += start - fetched;
+                rowCount++;
+                batchRows++;
+
+                // flush by bytes of batch (adaptive) or by rows
+                if (sizer.isAdaptive() ? buffer.size() >= sizer.getTargetBytes() : batchRows >= sizer.getRows()) {
+                    // copy records
+                    encoder.writeTrailer(out);
+                    sizer.encoded(batchRows, buffer.size());
+                    probe.fetched(batchRows, fetchNanos);
+                    probe.encoded(buffer.size(), encodeNanos);
+                    copyIn(destTable, destSql, buffer, batchRows);
+                    probe.written(System.nanoTime() - start);
+
+                    // clear buffer
+                    buffer.reset();
+                    batchRows = 0;
+                    fetchNanos = 0;
+                    encodeNanos = 0;
+                    encoder.writeHeader(out);
+                    start = System.nanoTime();
                 }
             }
-            csvBuffer.append('\n');
-            
-            if (++rowCount % ctx.getChunkSize() == 0) {
-                // copy records
-                csvBuffer.deleteCharAt(csvBuffer.length() - 1); // delete last eol
-                copyMgr.copyIn(destSql, new StringReader(csvBuffer.toString()));
-                
-                // clear csv buffer
-                csvBuffer = new StringBuilder();
+            if (batchRows > 0) {
+                // copy remaining records
+                encoder.writeTrailer(out);
+                probe.fetched(batchRows, fetchNanos);
+                probe.encoded(buffer.size(), encodeNanos);
+                start = System.nanoTime();
+                copyIn(destTable, destSql, buffer, batchRows);
+                probe.written(System.nanoTime() - start);
             }
+            return rowCount;
+        } finally {
+            closeEncoder(encoder);
+        }
+    }
+
+    // One COPY command of buffered data
+    private void copyIn(String table, String sql, ByteArrayOutputStream buffer, int rowCount) throws SQLException {
+        TransferTarget.Copy copy = target.copyIn(table, sql);
+        try {
+            copy.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+            copy.endCopy(rowCount);
+        } finally {
+            if (copy.isActive()) copy.cancelCopy();
         }
-        if (csvBuffer.length() > 0) {
-            // copy remaining records
-            csvBuffer.deleteCharAt(csvBuffer.length() - 1);
-            copyMgr.copyIn(destSql, new StringReader(csvBuffer.toString()));
+    }
+
+    /**
+     * Transfer table data with one continuous COPY command (or one COPY per commitRows rows).
+     * Last key of committed rows is saved to journal as checkpoint.
+     */
+    private long transferWithCopyStream(String destTable, TransferJob job, final ResultSet rs, BatchSizer sizer,
+            TransferMetrics.Probe probe, int commitRows, String keyColumn, boolean pipelined) throws SQLException, IOException {
+        ctx.info("Using Copy Stream (" + ctx.getCopyFormat() + (pipelined ? ", pipeline" : "") + ")");
+        CopyEncoder encoder = createEncoder(destTable, rs);
+        String destSql = "COPY " + destTable + " (" + columnList(rs.getMetaData()) + ") FROM STDIN " + encoder.copyOptions();
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        int keyIndex = -1;
+        for (int i = 1; i <= columnCount && keyColumn != null; i++) {
+            if (metaData.getColumnName(i).equalsIgnoreCase(keyColumn)) keyIndex = i - 1;
+        }
+        TransferJournal journal = ctx.getJournal();
+        long checkpointRows = journal.getCheckpointRows(job.getKey()); // committed by previous run
+        // target without database: COPY is finished every commitRows rows (no transaction)
+        boolean transaction = commitRows > 0 && destConnection != null;
+        boolean autoCommit = transaction && destConnection.getAutoCommit();
+        if (transaction) destConnection.setAutoCommit(false);
+        long rowCount = 0;
+        // COPY data is sent by batch bytes (adaptive) or by default buffer
+        int bufferSize = sizer.isAdaptive()
+                ? (int) Math.max(COPY_BUFFER_SIZE, Math.min(MAX_COPY_BUFFER_SIZE, sizer.getTargetBytes()))
+                : COPY_BUFFER_SIZE;
+        try (CopyStream copy = new CopyStream(target, destTable, destSql, bufferSize);) {
+            final int checkpointIndex = keyIndex;
+            TransferPipeline.CommitHandler commitHandler = (rows, lastKey) -> {
+                // finish copy and commit rows
+                copy.endCopy(rows);
+                if (transaction) destConnection.commit();
+                if (checkpointIndex >= 0) {
+                    journal.checkpoint(job.getKey(), checkpointRows + rows, lastKey);
+                }
+                ctx.info(destTable + ' ' + job + " Committed " + (checkpointRows + rows) + " rows");
+                copy.startCopy();
+            };
+            if (pipelined) {
+                TransferPipeline pipeline = new TransferPipeline(encoder, columnCount,
+                        sizer, probe, bufferSize, ctx.getPipelineDepth(), keyIndex);
+                rowCount = pipeline.run(rs, copy, ctx.getSampleRows(), commitRows, commitHandler);
+                long start = System.nanoTime();
+                copy.endCopy(rowCount);
+                probe.written(System.nanoTime() - start);
+            } else {
+                Object[] row = new Object[columnCount];
+                DataOutputStream out = new DataOutputStream(copy);
+                encoder.writeHeader(out);
+                long batchStart = 0; // bytes of copy at start of batch
+                long batchWrite = 0; // write time of copy at start of batch
+                int batchRows = 0;
+                long fetchNanos = 0;
+                long encodeNanos = 0;
+                long start = System.nanoTime();
+                while (sizer.next(rs)) {
+                    if (ctx.getSampleRows() > 0 && rowCount >= ctx.getSampleRows()) break;
+                    encoder.readRow(rs, row);
+                    long fetched = System.nanoTime();
+                    fetchNanos += fetched - start;
+                    long written = copy.getWriteNanos();
+                    encoder.writeRow(row, out);
+                    start = System.nanoTime();
+                    // buffer of copy stream is sent to target while row is written
+                    encodeNanos += start - fetched - (copy.getWriteNanos() - written);
+                    rowCount++;
+                    if (++batchRows >= sizer.getRows()) {
+                        sizer.encoded(batchRows, copy.getBytes() - batchStart);
+                        probe.fetched(batchRows, fetchNanos);
+                        probe.encoded(copy.getBytes() - batchStart, encodeNanos);
+                        probe.written(copy.getWriteNanos() - batchWrite);
+                        batchStart = copy.getBytes();
+                        batchWrite = copy.getWriteNanos();
+                        batchRows = 0;
+                        fetchNanos = 0;
+                        encodeNanos = 0;
+                    }
+
+                    if (commitRows > 0 && rowCount % commitRows == 0) {
+                        encoder.writeTrailer(out);
+                        commitHandler.commit(rowCount, keyIndex >= 0 ? row[keyIndex] : null);
+                        encoder.writeHeader(out);
+                        start = System.nanoTime();
+                    }
+                }
+                encoder.writeTrailer(out);
+                copy.endCopy(rowCount);
+                probe.fetched(batchRows, fetchNanos);
+                probe.encoded(copy.getBytes() - batchStart, encodeNanos);
+                probe.written(copy.getWriteNanos() - batchWrite);
+            }
+            if (transaction) destConnection.commit();
+        } catch (SQLException | IOException ex) {
+            if (transaction) destConnection.rollback();
+            throw ex;
+        } finally {
+            if (transaction) destConnection.setAutoCommit(autoCommit);
+            closeEncoder(encoder);
         }
         return rowCount;
     }
+
+    // Temporary files of LOB values are deleted
+    private void closeEncoder(CopyEncoder encoder) {
+        try {
+            encoder.close();
+        } catch (IOException ex) {
+            ctx.warning(ex.getLocalizedMessage());
+        }
+    }
 }
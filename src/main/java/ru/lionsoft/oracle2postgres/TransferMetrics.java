@@ -0,0 +1,211 @@
+/*
+ * File:    TransferMetrics.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 11:01:36 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Throughput metrics of transfer: statistics of tables, workers and total
+ * registered as JMX MBeans (ru.lionsoft.oracle2postgres:type=Table|Worker|Transfer)
+ * and written to JSON and CSV report at end of run.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class TransferMetrics {
+
+    // =================== Constants ====================
+
+    private static final String DOMAIN = "ru.lionsoft.oracle2postgres";
+
+    // =================== Inner Classes ====================
+
+    /**
+     * Statistics of one job (table or chunk) on one worker:
+     * counters of batch are added to table, worker and total statistics
+     */
+    public static class Probe {
+        private final TransferStats[] stats;
+
+        Probe(TransferStats... stats) {
+            this.stats = stats;
+            for (TransferStats s : stats) s.started();
+        }
+
+        /**
+         * Rows are fetched from source
+         * @param rowCount number of rows
+         * @param nanos time of fetch
+         */
+        public void fetched(long rowCount, long nanos) {
+            for (TransferStats s : stats) s.fetched(rowCount, nanos);
+        }
+
+        /**
+         * Rows are encoded
+         * @param byteCount bytes of encoded data (0 - insert)
+         * @param nanos time of encoding
+         */
+        public void encoded(long byteCount, long nanos) {
+            for (TransferStats s : stats) s.encoded(byteCount, nanos);
+        }
+
+        /**
+         * Data is written to target
+         * @param nanos time of write
+         */
+        public void written(long nanos) {
+            for (TransferStats s : stats) s.written(nanos);
+        }
+
+        /**
+         * Job is finished
+         */
+        public void finish() {
+            for (TransferStats s : stats) s.finished();
+        }
+    }
+
+    // =================== Fields ====================
+
+    private final Map<String, TransferStats> tables = new ConcurrentSkipListMap<>();
+    private final Map<String, TransferStats> workers = new ConcurrentSkipListMap<>();
+    private final TransferStats total = new TransferStats("Total");
+
+    // =================== Constructors ===========================
+
+    public TransferMetrics() {
+        register("Transfer", total);
+    }
+
+    // =================== Getters and Setters ====================
+
+    public Collection<TransferStats> getTables() {
+        return tables.values();
+    }
+
+    /**
+     * @param tableName owner.table
+     * @return statistics of table (null - not started)
+     */
+    public TransferStats getTable(String tableName) {
+        return tables.get(tableName);
+    }
+
+    public Collection<TransferStats> getWorkers() {
+        return workers.values();
+    }
+
+    public TransferStats getTotal() {
+        return total;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Start job of table on worker
+     * @param tableName owner.table
+     * @param workerName name of worker
+     * @return probe of job
+     */
+    public Probe start(String tableName, String workerName) {
+        TransferStats worker = stats(workers, "Worker", workerName);
+        Probe probe = new Probe(stats(tables, "Table", tableName), worker, total);
+        worker.setCurrent(tableName);
+        return probe;
+    }
+
+    private TransferStats stats(Map<String, TransferStats> map, String type, String name) {
+        return map.computeIfAbsent(name, key -> {
+            TransferStats stats = new TransferStats(key);
+            register(type, stats);
+            return stats;
+        });
+    }
+
+    // MBean of statistics (ignored when JMX is not available)
+    private static void register(String type, TransferStats stats) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(stats,
+                    new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(stats.getName())));
+        } catch (JMException | RuntimeException ex) {
+            // no monitoring
+        }
+    }
+
+    /**
+     * Write JSON report of tables, workers and total
+     * @param filename report filename
+     * @exception IOException when file is not written
+     */
+    public void writeJson(String filename) throws IOException {
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8))) {
+            out.println("{");
+            out.println("  \"total\": " + json(total) + ',');
+            writeJson(out, "tables", tables.values());
+            out.println(',');
+            writeJson(out, "workers", workers.values());
+            out.println();
+            out.println("}");
+        }
+    }
+
+    private static void writeJson(PrintWriter out, String name, Collection<TransferStats> list) {
+        out.print("  \"" + name + "\": [");
+        int i = 0;
+        for (TransferStats stats : list) {
+            out.print(i++ > 0 ? ",\n    " : "\n    ");
+            out.print(json(stats));
+        }
+        out.print(i > 0 ? "\n  ]" : "]");
+    }
+
+    private static String json(TransferStats stats) {
+        return "{\"name\": \"" + stats.getName().replace("\\", "\\\\").replace("\"", "\\\"") + '"'
+                + ", \"jobs\": " + stats.getJobs()
+                + ", \"rows\": " + stats.getRows()
+                + ", \"bytes\": " + stats.getBytes()
+                + ", \"elapsedMillis\": " + stats.getElapsedMillis()
+                + ", \"fetchMillis\": " + stats.getFetchMillis()
+                + ", \"encodeMillis\": " + stats.getEncodeMillis()
+                + ", \"writeMillis\": " + stats.getWriteMillis()
+                + ", \"rowsPerSecond\": " + stats.getRowsPerSecond()
+                + ", \"bytesPerSecond\": " + stats.getBytesPerSecond() + '}';
+    }
+
+    /**
+     * Write CSV report of tables, workers and total (one line per statistics)
+     * @param filename report filename
+     * @exception IOException when file is not written
+     */
+    public void writeCsv(String filename) throws IOException {
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8))) {
+            out.println("type,name,jobs,rows,bytes,elapsed_ms,fetch_ms,encode_ms,write_ms,rows_per_sec,bytes_per_sec");
+            for (TransferStats stats : tables.values()) out.println(csv("table", stats));
+            for (TransferStats stats : workers.values()) out.println(csv("worker", stats));
+            out.println(csv("total", total));
+        }
+    }
+
+    private static String csv(String type, TransferStats stats) {
+        return type + ",\"" + stats.getName().replace("\"", "\"\"") + "\"," + stats.getJobs() + ','
+                + stats.getRows() + ',' + stats.getBytes() + ',' + stats.getElapsedMillis() + ','
+                + stats.getFetchMillis() + ',' + stats.getEncodeMillis() + ',' + stats.getWriteMillis() + ','
+                + stats.getRowsPerSecond() + ',' + stats.getBytesPerSecond();
+    }
+}
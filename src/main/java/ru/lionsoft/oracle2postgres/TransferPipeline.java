@@ -0,0 +1,287 @@
+/*
+ * File:    TransferPipeline.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:27:20 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline of table transfer: fetch stage (caller thread) reads rows from source,
+ * encode stage converts rows to COPY data and write stage sends data to target.
+ * Stages are connected by bounded queues of reusable row batches and byte buffers,
+ * so source fetch and target write are overlapped with constant memory.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class TransferPipeline {
+
+    // =================== Constants ====================
+
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    // =================== Inner Classes ====================
+
+    /**
+     * Commit handler for commit every N rows
+     */
+    public interface CommitHandler {
+        void commit(long rowCount, Object lastKey) throws SQLException, IOException;
+    }
+
+    // Batch of source rows (reused, grows with size of batch)
+    private static class RowBatch {
+        final int columnCount;
+        Object[][] rows;
+        int size;
+        boolean last;
+
+        RowBatch(int batchRows, int columnCount) {
+            this.columnCount = columnCount;
+            rows = new Object[batchRows][columnCount];
+        }
+
+        // row for next values
+        Object[] next() {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+                for (int i = size; i < rows.length; i++) {
+                    rows[i] = new Object[columnCount];
+                }
+            }
+            return rows[size++];
+        }
+    }
+
+    // Buffer of encoded data (reused)
+    private static class DataBuffer extends ByteArrayOutputStream {
+        final DataOutputStream out = new DataOutputStream(this);
+        boolean last;
+        boolean commit;
+        long rowCount;
+        Object lastKey;
+
+        DataBuffer(int size) {
+            super(size);
+        }
+
+        void clear() {
+            reset();
+            last = false;
+            commit = false;
+            lastKey = null;
+        }
+    }
+
+    // =================== Fields ====================
+
+    private final CopyEncoder encoder;
+    private final BatchSizer sizer;
+    private final TransferMetrics.Probe probe;
+    private final int bufferSize;
+    private final int keyIndex;
+    private final BlockingQueue<RowBatch> freeBatches;
+    private final BlockingQueue<RowBatch> fullBatches;
+    private final BlockingQueue<DataBuffer> freeBuffers;
+    private final BlockingQueue<DataBuffer> fullBuffers;
+    private volatile Throwable failure;
+
+    // =================== Constructors ===========================
+
+    /**
+     * @param encoder encoder of rows
+     * @param columnCount number of columns
+     * @param sizer size of batch (rows of fetch)
+     * @param probe metrics of stages
+     * @param bufferSize size of data buffer
+     * @param depth number of batches and buffers of each stage
+     * @param keyIndex index of key column passed to commit handler (-1 - none)
+     */
+    public TransferPipeline(CopyEncoder encoder, int columnCount, BatchSizer sizer, TransferMetrics.Probe probe,
+            int bufferSize, int depth, int keyIndex) {
+        this.encoder = encoder;
+        this.sizer = sizer;
+        this.probe = probe;
+        this.bufferSize = bufferSize;
+        this.keyIndex = keyIndex;
+        freeBatches = new ArrayBlockingQueue<>(depth);
+        fullBatches = new ArrayBlockingQueue<>(depth);
+        freeBuffers = new ArrayBlockingQueue<>(depth);
+        fullBuffers = new ArrayBlockingQueue<>(depth);
+        for (int i = 0; i < depth; i++) {
+            freeBatches.add(new RowBatch(sizer.getRows(), columnCount));
+            freeBuffers.add(new DataBuffer(bufferSize + bufferSize / 4));
+        }
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Transfer rows from source result set to copy stream
+     * @param rs source result set
+     * @param copy target copy stream
+     * @param maxRows maximum number of rows (0 - all rows)
+     * @param commitRows commit every N rows (0 - no commit)
+     * @param commitHandler commit handler (when commitRows > 0)
+     * @return number of rows
+     * @exception SQLException when source or target error
+     * @exception IOException when copy error
+     */
+    public long run(ResultSet rs, CopyStream copy, long maxRows, int commitRows, CommitHandler commitHandler)
+            throws SQLException, IOException {
+        String name = Thread.currentThread().getName();
+        Thread encodeThread = new Thread(() -> encodeStage(commitRows), name + "-encode");
+        Thread writeThread = new Thread(() -> writeStage(copy, commitHandler), name + "-write");
+        encodeThread.setDaemon(true);
+        writeThread.setDaemon(true);
+        encodeThread.start();
+        writeThread.start();
+
+        long rowCount = 0;
+        try {
+            rowCount = fetchStage(rs, maxRows);
+        } catch (Exception ex) {
+            fail(ex);
+        }
+
+        try {
+            encodeThread.join();
+            writeThread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            fail(ex);
+        }
+
+        if (failure != null) {
+            if (failure instanceof SQLException) throw (SQLException) failure;
+            if (failure instanceof IOException) throw (IOException) failure;
+            if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+            throw new IOException(failure.getLocalizedMessage(), failure);
+        }
+        return rowCount;
+    }
+
+    private long fetchStage(ResultSet rs, long maxRows) throws SQLException, IOException, InterruptedException {
+        long rowCount = 0;
+        RowBatch batch = take(freeBatches);
+        batch.size = 0;
+        long start = System.nanoTime(); // time of batch without waits of queues
+        while (sizer.next(rs)) {
+            if (maxRows > 0 && rowCount >= maxRows) break;
+            encoder.readRow(rs, batch.next());
+            rowCount++;
+            if (batch.size >= sizer.getRows()) {
+                probe.fetched(batch.size, System.nanoTime() - start);
+                put(fullBatches, batch);
+                batch = take(freeBatches);
+                batch.size = 0;
+                start = System.nanoTime();
+            }
+        }
+        probe.fetched(batch.size, System.nanoTime() - start);
+        batch.last = true;
+        put(fullBatches, batch);
+        return rowCount;
+    }
+
+    private void encodeStage(int commitRows) {
+        try {
+            long rowCount = 0;
+            long encodedBytes = 0; // bytes of buffers passed to write stage
+            DataBuffer buffer = take(freeBuffers);
+            buffer.clear();
+            encoder.writeHeader(buffer.out);
+            boolean last = false;
+            while (!last) {
+                RowBatch batch = take(fullBatches);
+                long batchStart = encodedBytes + buffer.size();
+                long encodeNanos = 0;
+                for (int i = 0; i < batch.size; i++) {
+                    long start = System.nanoTime();
+                    encoder.writeRow(batch.rows[i], buffer.out);
+                    encodeNanos += System.nanoTime() - start;
+                    rowCount++;
+                    if (commitRows > 0 && rowCount % commitRows == 0) {
+                        // end of transaction: complete COPY data
+                        encoder.writeTrailer(buffer.out);
+                        buffer.commit = true;
+                        buffer.rowCount = rowCount;
+                        buffer.lastKey = keyIndex >= 0 ? batch.rows[i][keyIndex] : null;
+                        encodedBytes += buffer.size();
+                        put(fullBuffers, buffer);
+                        buffer = take(freeBuffers);
+                        buffer.clear();
+                        encoder.writeHeader(buffer.out);
+                    } else if (buffer.size() >= bufferSize) {
+                        encodedBytes += buffer.size();
+                        put(fullBuffers, buffer);
+                        buffer = take(freeBuffers);
+                        buffer.clear();
+                    }
+                }
+                sizer.encoded(batch.size, encodedBytes + buffer.size() - batchStart);
+                probe.encoded(encodedBytes + buffer.size() - batchStart, encodeNanos);
+                last = batch.last;
+                batch.last = false;
+                put(freeBatches, batch);
+            }
+            encoder.writeTrailer(buffer.out);
+            buffer.last = true;
+            buffer.rowCount = rowCount;
+            put(fullBuffers, buffer);
+        } catch (Exception ex) {
+            fail(ex);
+        }
+    }
+
+    private void writeStage(CopyStream copy, CommitHandler commitHandler) {
+        try {
+            boolean last = false;
+            while (!last) {
+                DataBuffer buffer = take(fullBuffers);
+                long start = System.nanoTime();
+                buffer.writeTo(copy);
+                if (buffer.commit) {
+                    commitHandler.commit(buffer.rowCount, buffer.lastKey);
+                }
+                probe.written(System.nanoTime() - start);
+                last = buffer.last;
+                put(freeBuffers, buffer);
+            }
+            copy.flush();
+        } catch (Exception ex) {
+            fail(ex);
+        }
+    }
+
+    private synchronized void fail(Throwable ex) {
+        if (failure == null) failure = ex;
+    }
+
+    // Wait item from queue while other stages are alive
+    private <T> T take(BlockingQueue<T> queue) throws InterruptedException, IOException {
+        T item;
+        while ((item = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) == null) {
+            if (failure != null) throw new IOException("Transfer pipeline aborted");
+        }
+        return item;
+    }
+
+    private <T> void put(BlockingQueue<T> queue, T item) throws InterruptedException, IOException {
+        while (!queue.offer(item, POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            if (failure != null) throw new IOException("Transfer pipeline aborted");
+        }
+    }
+}
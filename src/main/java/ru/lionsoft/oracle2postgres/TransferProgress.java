@@ -0,0 +1,155 @@
+/*
+ * File:    TransferProgress.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 11:05:07 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Progress of transfer: expected rows of tables by statistics (all_tables.num_rows)
+ * are compared with rows of transfer metrics (added by batches, no per-row
+ * synchronization) and reported periodically by progress thread:
+ * overall and per-worker percent done, current rates and ETA.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class TransferProgress {
+
+    // =================== Fields ====================
+
+    private final TransferContext ctx;
+    private final Map<String, Long> expectedRows = new ConcurrentHashMap<>(); // owner.table -> rows
+    private long expectedBytes;
+    private long startRows;     // rows of metrics at start
+    private long startMillis;
+    private long lastRows;      // rows at last report
+    private long lastMillis;
+    private final Map<String, Long> lastWorkerRows = new HashMap<>();
+    private Thread thread;
+
+    // =================== Constructors ===========================
+
+    public TransferProgress(TransferContext ctx) {
+        this.ctx = ctx;
+    }
+
+    // =================== Getters and Setters ====================
+
+    public long getExpectedRows() {
+        long rows = 0;
+        for (long tableRows : expectedRows.values()) rows += tableRows;
+        return rows;
+    }
+
+    public long getExpectedBytes() {
+        return expectedBytes;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Expected size of table (or of pending chunks of table)
+     * @param tableName owner.table
+     * @param rows expected rows (0 - no statistics)
+     * @param bytes expected bytes
+     */
+    public synchronized void expect(String tableName, long rows, long bytes) {
+        expectedRows.put(tableName, rows);
+        expectedBytes += bytes;
+    }
+
+    /**
+     * Start progress thread
+     * @param intervalSeconds seconds between reports (0 - no reports)
+     */
+    public synchronized void start(int intervalSeconds) {
+        startRows = ctx.getMetrics().getTotal().getRows();
+        startMillis = System.currentTimeMillis();
+        lastRows = startRows;
+        lastMillis = startMillis;
+        if (intervalSeconds <= 0 || thread != null) return;
+        ctx.log("Progress: " + expectedRows.size() + " tables, " + getExpectedRows() + " rows, "
+                + expectedBytes / (1024 * 1024) + " MB expected by statistics");
+        thread = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Thread.sleep(intervalSeconds * 1000L);
+                    ctx.progress(report());
+                }
+            } catch (InterruptedException ex) {
+                // stop
+            }
+        }, "Progress");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop progress thread
+     */
+    public synchronized void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    /**
+     * Progress line: overall percent, current rate, ETA and current table of workers
+     * @return progress line
+     */
+    public synchronized String report() {
+        TransferMetrics metrics = ctx.getMetrics();
+        long now = System.currentTimeMillis();
+        long rows = metrics.getTotal().getRows() - startRows;
+        long expected = getExpectedRows();
+        long interval = now - lastMillis;
+        long rate = rate(rows + startRows - lastRows, interval);
+        long avgRate = rate(rows, now - startMillis);
+        lastRows = rows + startRows;
+        lastMillis = now;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(percent(rows, expected)).append(" (").append(rows).append(" of ").append(expected)
+                .append(" rows), ").append(rate).append(" rows/s, ETA ");
+        long remaining = expected - rows;
+        long etaRate = rate > 0 ? rate : avgRate;
+        sb.append(remaining <= 0 ? "soon" : etaRate > 0 ? duration(remaining / etaRate) : "unknown");
+
+        for (TransferStats worker : metrics.getWorkers()) {
+            String tableName = worker.getCurrent();
+            Long last = lastWorkerRows.put(worker.getName(), worker.getRows());
+            if (tableName == null) continue; // idle
+            TransferStats table = metrics.getTable(tableName);
+            Long tableExpected = expectedRows.get(tableName);
+            sb.append("; ").append(worker.getName()).append(": ").append(tableName).append(' ')
+                    .append(percent(table != null ? table.getRows() : 0, tableExpected != null ? tableExpected : 0))
+                    .append(' ').append(rate(worker.getRows() - (last != null ? last : 0), interval)).append(" rows/s");
+        }
+        return sb.toString();
+    }
+
+    private static long rate(long rows, long millis) {
+        return millis > 0 ? rows * 1000 / millis : 0;
+    }
+
+    // Percent done (below 100% while expected rows by statistics are exceeded)
+    private static String percent(long rows, long expected) {
+        if (expected <= 0) return "?%";
+        double percent = Math.min(99.9, rows * 100.0 / expected);
+        return String.format("%.1f%%", percent);
+    }
+
+    private static String duration(long seconds) {
+        long days = seconds / 86400;
+        String time = String.format("%02d:%02d:%02d", seconds / 3600 % 24, seconds / 60 % 60, seconds % 60);
+        return days > 0 ? days + "d " + time : time;
+    }
+}
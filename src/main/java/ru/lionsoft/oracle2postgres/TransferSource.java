@@ -0,0 +1,65 @@
+/*
+ * File:    TransferSource.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:58:05 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Source of transfer: tables of schema, dictionary of tables and rows of table query.
+ * Implementations: Oracle database (source.type=oracle) and generator of synthetic rows
+ * (source.type=synthetic) for throughput tests without database.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public interface TransferSource extends AutoCloseable {
+
+    /**
+     * @return JDBC connection of source database (null - source without database)
+     */
+    Connection getConnection();
+
+    /**
+     * Tables of schema owner
+     * @param owner schema owner
+     * @return table names
+     * @exception SQLException when sql error execute
+     */
+    Set<String> getTables(String owner) throws SQLException;
+
+    /**
+     * Load dictionary of schema owner to catalog (once)
+     * @param catalog metadata catalog
+     * @param owner schema owner
+     * @exception SQLException when sql error execute
+     */
+    void loadCatalog(MetadataCatalog catalog, String owner) throws SQLException;
+
+    /**
+     * Rows of table query, statement is closed with result set
+     * @param owner schema owner
+     * @param tableName table name
+     * @param columns selected columns of table
+     * @param sql source query
+     * @param fetchSize rows of fetch
+     * @return result set of rows
+     * @exception SQLException when sql error execute
+     */
+    ResultSet openRows(String owner, String tableName, List<MetadataCatalog.ColumnInfo> columns,
+            String sql, int fetchSize) throws SQLException;
+
+    /**
+     * Disconnect from source
+     */
+    @Override
+    void close();
+}
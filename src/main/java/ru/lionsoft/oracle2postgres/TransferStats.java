@@ -0,0 +1,150 @@
+/*
+ * File:    TransferStats.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 11:01:36 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transfer statistics of table or worker: rows, bytes of COPY data and time
+ * of fetch (source rows and values), encode (COPY data or insert parameters)
+ * and write (target COPY or insert). Counters are added by batches from
+ * transfer threads and read live by JMX and by report at end of run.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class TransferStats implements TransferStatsMBean {
+
+    // =================== Fields ====================
+
+    private final String name;
+    private final AtomicInteger jobs = new AtomicInteger();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder fetchNanos = new LongAdder();
+    private final LongAdder encodeNanos = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private volatile long startMillis; // start of first job (0 - not started)
+    private volatile long endMillis;   // end of last job (0 - running)
+    private int active; // running jobs
+    private volatile String current; // current table of worker
+
+    // =================== Constructors ===========================
+
+    public TransferStats(String name) {
+        this.name = name;
+    }
+
+    // =================== Getters and Setters ====================
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return current table of worker (null - idle)
+     */
+    @Override
+    public String getCurrent() {
+        return current;
+    }
+
+    public void setCurrent(String current) {
+        this.current = current;
+    }
+
+    @Override
+    public int getJobs() {
+        return jobs.get();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    @Override
+    public long getFetchMillis() {
+        return fetchNanos.sum() / 1000000;
+    }
+
+    @Override
+    public long getEncodeMillis() {
+        return encodeNanos.sum() / 1000000;
+    }
+
+    @Override
+    public long getWriteMillis() {
+        return writeNanos.sum() / 1000000;
+    }
+
+    /**
+     * @return time from start of first job to end of last job (or to now when running)
+     */
+    @Override
+    public long getElapsedMillis() {
+        if (startMillis == 0) return 0;
+        return (endMillis > 0 ? endMillis : System.currentTimeMillis()) - startMillis;
+    }
+
+    @Override
+    public long getRowsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? getRows() * 1000 / elapsed : 0;
+    }
+
+    @Override
+    public long getBytesPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? getBytes() * 1000 / elapsed : 0;
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * Job (table or chunk) is started
+     */
+    public synchronized void started() {
+        jobs.incrementAndGet();
+        if (active++ == 0) {
+            if (startMillis == 0) startMillis = System.currentTimeMillis();
+            endMillis = 0;
+        }
+    }
+
+    /**
+     * Job is finished (end of last running job)
+     */
+    public synchronized void finished() {
+        if (--active == 0) {
+            endMillis = System.currentTimeMillis();
+            current = null;
+        }
+    }
+
+    public void fetched(long rowCount, long nanos) {
+        rows.add(rowCount);
+        fetchNanos.add(nanos);
+    }
+
+    public void encoded(long byteCount, long nanos) {
+        bytes.add(byteCount);
+        encodeNanos.add(nanos);
+    }
+
+    public void written(long nanos) {
+        writeNanos.add(nanos);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * File:    TransferStatsMBean.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 11:01:36 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+/**
+ * JMX view of transfer statistics of table or worker
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public interface TransferStatsMBean {
+
+    String getName();
+
+    String getCurrent();
+
+    int getJobs();
+
+    long getRows();
+
+    long getBytes();
+
+    long getFetchMillis();
+
+    long getEncodeMillis();
+
+    long getWriteMillis();
+
+    long getElapsedMillis();
+
+    long getRowsPerSecond();
+
+    long getBytesPerSecond();
+}
@@ -0,0 +1,77 @@
+/*
+ * File:    TransferTarget.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:58:05 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Target of transfer: COPY ... FROM STDIN commands of table data.
+ * Implementations: PostgreSQL database (target.type=postgres), COPY data files
+ * (target.type=file), compressed dump with manifest (target.type=dump) and
+ * sink without output (target.type=null) for throughput tests.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public interface TransferTarget extends AutoCloseable {
+
+    // =================== Inner Classes ====================
+
+    /**
+     * Started COPY command
+     */
+    interface Copy {
+        void writeToCopy(byte[] b, int off, int len) throws SQLException;
+
+        /**
+         * Finish COPY command
+         * @param rowCount rows of COPY data written by client
+         * @return rows handled by target
+         * @exception SQLException when copy failed
+         */
+        long endCopy(long rowCount) throws SQLException;
+
+        void cancelCopy() throws SQLException;
+        boolean isActive();
+    }
+
+    // =================== Bussiness Methods ====================
+
+    /**
+     * @return JDBC connection of target database (null - target without database:
+     * DDL is not executed, rows are not committed)
+     */
+    Connection getConnection();
+
+    /**
+     * Start COPY command
+     * @param table target table of COPY command (owner.table)
+     * @param sql COPY ... FROM STDIN command
+     * @return started copy
+     * @exception SQLException when copy is not started
+     */
+    Copy copyIn(String table, String sql) throws SQLException;
+
+    /**
+     * Transfer of table (chunk) is finished: data of table is complete
+     * @exception SQLException when data is not completed
+     */
+    void finish() throws SQLException;
+
+    /**
+     * Transfer of table (chunk) failed: data of table is discarded when possible
+     */
+    void discard();
+
+    /**
+     * Disconnect from target
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,132 @@
+/*
+ * File:    WorkerPool.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 10:30:19 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of transfer workers on executor service (platform or virtual threads).
+ * Failures of workers are collected and reported by awaitCompletion.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class WorkerPool {
+
+    // =================== Inner Classes ====================
+
+    /**
+     * Task of worker
+     */
+    public interface Worker {
+        void run(int workerNo) throws Exception;
+    }
+
+    // =================== Fields ====================
+
+    private final TransferContext ctx;
+    private final String name;
+    private final ExecutorService executor;
+    private final List<Future<?>> futures = new ArrayList<>();
+
+    // =================== Constructors ===========================
+
+    public WorkerPool(TransferContext ctx, String name, int threadsNum) {
+        this.ctx = ctx;
+        this.name = name;
+        this.executor = createExecutor(threadsNum);
+    }
+
+    // =================== Bussiness Methods ====================
+
+    private ExecutorService createExecutor(int threadsNum) {
+        if (ctx.isVirtualThreads()) {
+            try {
+                // Java 21+: Executors.newVirtualThreadPerTaskExecutor()
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                ctx.info(name + ": using virtual threads");
+                return (ExecutorService) method.invoke(null);
+            } catch (ReflectiveOperationException ex) {
+                ctx.warning(name + ": virtual threads are not supported by this JVM, using platform threads");
+            }
+        }
+        AtomicInteger threadNo = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(threadsNum, 1), runnable -> {
+            Thread thread = new Thread(runnable, name + '-' + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized void submit(Worker worker) {
+        int workerNo = futures.size() + 1;
+        futures.add(executor.submit(() -> {
+            ctx.log(name + " #" + workerNo + ": Start");
+            worker.run(workerNo);
+            ctx.log(name + " #" + workerNo + ": Stop");
+            return null;
+        }));
+    }
+
+    /**
+     * Wait completion of all workers
+     * @return number of failed workers
+     */
+    public int awaitCompletion() {
+        int failed = 0;
+        List<Future<?>> list;
+        synchronized (this) {
+            list = new ArrayList<>(futures);
+        }
+        for (int i = 0; i < list.size(); i++) {
+            try {
+                list.get(i).get();
+            } catch (ExecutionException ex) {
+                failed++;
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                ctx.error(name + " #" + (i + 1) + ": " + cause.getLocalizedMessage());
+            } catch (CancellationException ex) {
+                failed++;
+                ctx.error(name + " #" + (i + 1) + ": cancelled");
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                cancel();
+                failed += list.size() - i;
+                break;
+            }
+        }
+        executor.shutdown();
+        return failed;
+    }
+
+    /**
+     * Cancel workers and wait their termination
+     * @param timeout maximum time to wait in seconds
+     */
+    public void cancel(long timeout) {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(timeout, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void cancel() {
+        executor.shutdownNow();
+    }
+}
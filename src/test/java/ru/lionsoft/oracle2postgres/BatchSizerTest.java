@@ -0,0 +1,68 @@
+/*
+ * File:    BatchSizerTest.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 11:52:44 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Batch sizer: rows of batch follow target bytes, fetch size is doubled
+ * only while rate of fetch grows (slow fetch of large volume is not scaled).
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class BatchSizerTest {
+
+    // =================== Constants ====================
+
+    private static final long TARGET_BYTES = 1024 * 1024;
+    private static final int ROW_BYTES = 1024;
+
+    // =================== Tests ====================
+
+    @Test
+    public void rowsByTargetBytes() {
+        BatchSizer sizer = new BatchSizer(TARGET_BYTES, ROW_BYTES, 5000);
+        assertEquals(1024, sizer.getRows());
+        assertEquals(1024, sizer.getFetchSize());
+        sizer.encoded(1000, 1000 * 512); // measured width
+        assertEquals(1365, sizer.getRows());
+    }
+
+    @Test
+    public void slowFetchOfVolumeIsNotScaled() {
+        BatchSizer sizer = new BatchSizer(TARGET_BYTES, ROW_BYTES, 5000);
+        // 100 ms per fetch of 1 MB: same rate for any fetch size
+        for (int i = 0; i < 10; i++) {
+            sizer.fetched(3 * sizer.getFetchSize(), 3 * sizer.getFetchSize() * 100000L);
+        }
+        assertEquals(sizer.getRows(), sizer.getFetchSize());
+    }
+
+    @Test
+    public void latencyIsScaled() {
+        BatchSizer sizer = new BatchSizer(TARGET_BYTES, ROW_BYTES, 5000);
+        // 50 ms of round trip and 10 us per row
+        for (int i = 0; i < 10; i++) {
+            long rows = 3 * sizer.getFetchSize();
+            sizer.fetched(rows, 3 * 50000000L + rows * 10000L);
+        }
+        assertEquals(4 * sizer.getRows(), sizer.getFetchSize());
+    }
+
+    @Test
+    public void fixedRows() {
+        BatchSizer sizer = new BatchSizer(0, ROW_BYTES, 5000);
+        sizer.fetched(15000, 15000 * 1000000L);
+        sizer.encoded(5000, 5000 * 100);
+        assertEquals(5000, sizer.getRows());
+        assertEquals(5000, sizer.getFetchSize());
+    }
+}
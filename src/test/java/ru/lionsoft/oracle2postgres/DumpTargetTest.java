@@ -0,0 +1,319 @@
+/*
+ * File:    DumpTargetTest.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 11:30:51 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Dump target: consecutive COPY commands of table are appended to one file
+ * (binary COPY keeps one header and trailer) whatever chunks of COPY data are,
+ * files are rotated by size and listed in manifest with CRC32.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class DumpTargetTest {
+
+    // =================== Constants ====================
+
+    private static final String TABLE = "SCOTT.EMP";
+    private static final String BINARY_SQL = "COPY SCOTT.EMP (ID, NAME) FROM STDIN WITH (FORMAT binary)";
+    private static final String CSV_SQL = "COPY SCOTT.EMP (ID, NAME) FROM STDIN WITH DELIMITER ',' NULL 'null' CSV";
+    private static final byte[] BINARY_HEADER = {
+        'P', 'G', 'C', 'O', 'P', 'Y', '\n', -1, '\r', '\n', 0, 0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    // =================== Fields ====================
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TransferContext ctx;
+    private File directory;
+
+    @After
+    public void close() {
+        if (ctx != null) ctx.close();
+    }
+
+    // =================== Tests ====================
+
+    @Test
+    public void binaryCopiesAreSpliced() throws Exception {
+        for (int chunk : new int[] { 1, 2, 7, 20, 1 << 20 }) {
+            DumpTarget target = open("none", 0);
+            copy(target, TABLE, BINARY_SQL, binaryCopy(0, 3), chunk);
+            copy(target, TABLE, BINARY_SQL, binaryCopy(3, 1), chunk);
+            copy(target, TABLE, BINARY_SQL, binaryCopy(4, 0), chunk); // empty COPY
+            copy(target, TABLE, BINARY_SQL, binaryCopy(4, 5), chunk);
+            target.finish();
+
+            List<DumpManifest.Entry> entries = DumpManifest.read(directory);
+            assertEquals(1, entries.size());
+            DumpManifest.Entry entry = entries.get(0);
+            assertEquals(9, entry.getRows());
+            assertArrayEquals("chunk " + chunk, binaryCopy(0, 9), content(entry));
+            assertChecksum(entry);
+            ctx.close();
+            ctx = null;
+        }
+    }
+
+    @Test
+    public void csvCopiesAreAppended() throws Exception {
+        for (int chunk : new int[] { 1, 3, 1 << 20 }) {
+            DumpTarget target = open("gzip", 1);
+            copy(target, TABLE, CSV_SQL, csvCopy(0, 2), chunk);
+            copy(target, TABLE, CSV_SQL, csvCopy(2, 3), chunk);
+            target.finish();
+
+            List<DumpManifest.Entry> entries = DumpManifest.read(directory);
+            assertEquals(1, entries.size());
+            DumpManifest.Entry entry = entries.get(0);
+            assertEquals("gzip", entry.getCompression());
+            assertEquals(5, entry.getRows());
+            assertArrayEquals("chunk " + chunk, csvCopy(0, 5), content(entry));
+            assertChecksum(entry);
+            ctx.close();
+            ctx = null;
+        }
+    }
+
+    @Test
+    public void binaryGzipCopies() throws Exception {
+        DumpTarget target = open("gzip", 6);
+        copy(target, TABLE, BINARY_SQL, binaryCopy(0, 100), 13);
+        copy(target, TABLE, BINARY_SQL, binaryCopy(100, 100), 19);
+        target.finish();
+
+        DumpManifest.Entry entry = DumpManifest.read(directory).get(0);
+        assertArrayEquals(binaryCopy(0, 200), content(entry));
+        assertEquals(binaryCopy(0, 200).length, entry.getBytes());
+        assertChecksum(entry);
+    }
+
+    @Test
+    public void fileIsRotatedBySize() throws Exception {
+        DumpTarget target = open("none", 0);
+        int rows = 30000; // 0.6 MB of binary COPY
+        copy(target, TABLE, BINARY_SQL, binaryCopy(0, rows), 4096);
+        copy(target, TABLE, BINARY_SQL, binaryCopy(rows, rows), 4096); // file exceeds 1 MB
+        copy(target, TABLE, BINARY_SQL, binaryCopy(2 * rows, rows), 4096);
+        target.finish();
+
+        List<DumpManifest.Entry> entries = DumpManifest.read(directory);
+        assertEquals(2, entries.size());
+        assertEquals(2 * rows, entries.get(0).getRows());
+        assertEquals(rows, entries.get(1).getRows());
+        assertArrayEquals(binaryCopy(0, 2 * rows), content(entries.get(0)));
+        assertArrayEquals(binaryCopy(2 * rows, rows), content(entries.get(1)));
+        for (DumpManifest.Entry entry : entries) {
+            assertEquals(content(entry).length, entry.getBytes());
+            assertChecksum(entry);
+        }
+        assertEquals(2, ctx.getDumpManifest().getFiles());
+        assertEquals(3 * rows, ctx.getDumpManifest().getRows());
+    }
+
+    @Test
+    public void checksumOfChangedFile() throws Exception {
+        DumpTarget target = open("none", 0);
+        copy(target, TABLE, CSV_SQL, csvCopy(0, 3), 1 << 20);
+        target.finish();
+
+        DumpManifest.Entry entry = DumpManifest.read(directory).get(0);
+        assertChecksum(entry);
+        File file = new File(directory, entry.getFile());
+        byte[] data = Files.readAllBytes(file.toPath());
+        data[0] ^= 1;
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(data);
+        }
+        assertTrue(entry.getChecksum() != checksum(file));
+    }
+
+    @Test
+    public void discardDeletesFiles() throws Exception {
+        DumpTarget target = open("none", 1);
+        copy(target, TABLE, BINARY_SQL, binaryCopy(0, 60000), 1 << 16); // rotated
+        copy(target, TABLE, BINARY_SQL, binaryCopy(0, 10), 1 << 16);
+        target.discard();
+        target.finish();
+
+        assertEquals(0, DumpManifest.read(directory).size());
+        String[] files = directory.list((dir, name) -> name.endsWith(".copy"));
+        assertEquals(Arrays.toString(files), 0, files.length);
+    }
+
+    @Test
+    public void tableOfCopyIsPassed() throws Exception {
+        DumpTarget target = open("none", 0);
+        String table = "\"Scott\".\"Emp Table\"";
+        copy(target, table, "COPY " + table + " (ID, NAME) FROM STDIN WITH (FORMAT binary)", binaryCopy(0, 2), 5);
+        copy(target, TABLE, BINARY_SQL, binaryCopy(0, 1), 5); // other table: new file
+        target.finish();
+
+        List<DumpManifest.Entry> entries = DumpManifest.read(directory);
+        assertEquals(2, entries.size());
+        assertEquals(table, entries.get(0).getTable());
+        assertTrue(entries.get(0).getFile(), entries.get(0).getFile().startsWith("_Scott_._Emp_Table_."));
+        assertArrayEquals(binaryCopy(0, 2), content(entries.get(0)));
+        assertEquals(TABLE, entries.get(1).getTable());
+        assertArrayEquals(binaryCopy(0, 1), content(entries.get(1)));
+    }
+
+    @Test
+    public void resumedDumpKeepsFiles() throws Exception {
+        DumpTarget target = open("none", 0);
+        copy(target, TABLE, BINARY_SQL, binaryCopy(0, 3), 1 << 20);
+        target.finish();
+        ctx.close();
+        // resumed dump: new run in the same directory
+        target = open(directory, "none", 0);
+        copy(target, TABLE, BINARY_SQL, binaryCopy(3, 2), 1 << 20);
+        target.finish();
+
+        List<DumpManifest.Entry> entries = DumpManifest.read(directory);
+        assertEquals(2, entries.size());
+        assertEquals("SCOTT.EMP.1.copy", entries.get(0).getFile());
+        assertEquals("SCOTT.EMP.2.copy", entries.get(1).getFile());
+        assertArrayEquals(binaryCopy(0, 3), content(entries.get(0)));
+        assertArrayEquals(binaryCopy(3, 2), content(entries.get(1)));
+        for (DumpManifest.Entry entry : entries) {
+            assertChecksum(entry);
+        }
+    }
+
+    // =================== Helpers ====================
+
+    // dump target with new directory (dump.fileSize=1 MB)
+    private DumpTarget open(String compression, int level) throws IOException, SQLException {
+        return open(folder.newFolder(), compression, level);
+    }
+
+    // dump target with directory
+    private DumpTarget open(File dir, String compression, int level) throws IOException, SQLException {
+        directory = dir;
+        File log = new File(directory, "transfer.log");
+        Properties properties = new Properties();
+        properties.setProperty("source.type", "synthetic");
+        properties.setProperty("target.type", "dump");
+        properties.setProperty("target.directory", directory.getPath());
+        properties.setProperty("dump.compression", compression);
+        properties.setProperty("dump.compressionLevel", String.valueOf(level));
+        properties.setProperty("dump.fileSize", "1");
+        properties.setProperty("log.filename", log.getPath());
+        properties.setProperty("ddl.filename", new File(directory, "ddl.sql").getPath());
+        File file = folder.newFile();
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, null);
+        }
+        ctx = new TransferContext();
+        ctx.readPropertiesFromFile(file.getPath());
+        return new DumpTarget(ctx);
+    }
+
+    // COPY command of data written by chunks
+    private static void copy(DumpTarget target, String table, String sql, byte[] data, int chunk) throws SQLException {
+        TransferTarget.Copy copy = target.copyIn(table, sql);
+        for (int off = 0; off < data.length; off += chunk) {
+            copy.writeToCopy(data, off, Math.min(chunk, data.length - off));
+        }
+        copy.endCopy(rows(data, sql));
+    }
+
+    private static long rows(byte[] data, String sql) {
+        if (!sql.contains("FORMAT binary")) {
+            long rows = 0;
+            for (byte b : data) {
+                if (b == '\n') rows++;
+            }
+            return rows;
+        }
+        // tuple: field count 2, int4 and text of 6 bytes
+        return (data.length - BINARY_HEADER.length - 2) / 20;
+    }
+
+    // binary COPY of rows (ID, NAME) from first ID
+    private static byte[] binaryCopy(int first, int count) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.write(BINARY_HEADER);
+            for (int id = first; id < first + count; id++) {
+                out.writeShort(2);
+                out.writeInt(4);
+                out.writeInt(id);
+                out.writeInt(6);
+                out.write(String.format("N%05d", id % 100000).getBytes(StandardCharsets.US_ASCII));
+            }
+            out.writeShort(-1);
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    // CSV COPY of rows (ID, NAME) from first ID
+    private static byte[] csvCopy(int first, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int id = first; id < first + count; id++) {
+            sb.append(id).append(",\"name ").append(id).append("\"\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // COPY data of file (uncompressed)
+    private byte[] content(DumpManifest.Entry entry) throws IOException {
+        File file = new File(directory, entry.getFile());
+        try (InputStream in = entry.getCompression().equals("gzip")
+                ? new GZIPInputStream(new FileInputStream(file)) : new FileInputStream(file)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private void assertChecksum(DumpManifest.Entry entry) throws IOException {
+        File file = new File(directory, entry.getFile());
+        assertEquals(file.length(), entry.getFileBytes());
+        assertEquals(checksum(file), entry.getChecksum());
+    }
+
+    private static long checksum(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file.toPath()));
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * File:    LobWriterTest.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 11:37:38 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Clob;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * LOB writer: CLOB of binary COPY is read once, text in memory and text
+ * spilled to temporary file give the same length and UTF-8 bytes, one
+ * temporary file is reused and deleted when writer is closed.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class LobWriterTest {
+
+    // =================== Tests ====================
+
+    @Test
+    public void smallClobIsReadOnce() throws IOException {
+        assertBinary(text(1000));
+        assertBinary("");
+        assertBinary("\ud83d\ude00 \u041c\u043e\u0441\u043a\u0432\u0430");
+    }
+
+    @Test
+    public void largeClobIsSpilled() throws IOException {
+        int files = tempFiles();
+        LobWriter writer = new LobWriter();
+        assertBinary(writer, text(3 * 1024 * 1024)); // 5 MB of UTF-8 text
+        assertEquals(files + 1, tempFiles());
+        assertBinary(writer, text(100)); // writer is reused after spill
+        assertBinary(writer, text(2 * 1024 * 1024)); // temporary file is reused
+        assertEquals(files + 1, tempFiles());
+        writer.close();
+        assertEquals(files, tempFiles());
+    }
+
+    // =================== Helpers ====================
+
+    private static void assertBinary(String text) throws IOException {
+        assertBinary(new LobWriter(), text);
+    }
+
+    private static void assertBinary(LobWriter writer, String text) throws IOException {
+        AtomicInteger reads = new AtomicInteger();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            writer.writeBinary(clob(text, reads), out);
+        }
+        assertEquals(1, reads.get());
+        byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        assertEquals(expected.length, in.readInt());
+        byte[] actual = new byte[expected.length];
+        in.readFully(actual);
+        assertArrayEquals(expected, actual);
+        assertEquals(0, in.available());
+    }
+
+    // temporary files of CLOB text
+    private static int tempFiles() {
+        String[] names = new File(System.getProperty("java.io.tmpdir"))
+                .list((dir, name) -> name.startsWith("clob") && name.endsWith(".tmp"));
+        return names != null ? names.length : 0;
+    }
+
+    // text of ASCII and two-byte characters
+    private static String text(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(i % 3 == 0 ? (char) ('a' + i % 26) : (char) ('\u0410' + i % 32));
+        }
+        return sb.toString();
+    }
+
+    // CLOB of text, reads of character stream are counted
+    private static Clob clob(String text, AtomicInteger reads) {
+        return (Clob) Proxy.newProxyInstance(LobWriterTest.class.getClassLoader(),
+                new Class<?>[] { Clob.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getCharacterStream":
+                            reads.incrementAndGet();
+                            return new StringReader(text);
+                        case "length":
+                            return (long) text.length();
+                        case "free":
+                            return null;
+                        default:
+                            throw new SQLFeatureNotSupportedException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * File:    OracleCodecsTest.java
+ * Project: Oracle2Postgres
+ * Date:    Oct 16, 2026 11:27:58 PM
+ * Author:  Igor Morenko <morenko at lionsoft.ru>
+ * 
+ * Copyright 2005-2026 LionSoft LLC. All rights reserved.
+ */
+package ru.lionsoft.oracle2postgres;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Native Oracle codecs: raw NUMBER, DATE and TIMESTAMP bytes are converted
+ * to the same text and binary COPY values as BigDecimal and LocalDateTime.
+ *
+ * @author Igor Morenko <morenko at lionsoft.ru>
+ */
+public class OracleCodecsTest {
+
+    // =================== Constants ====================
+
+    private static final LocalDateTime PG_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    // =================== NUMBER ====================
+
+    @Test
+    public void numberText() {
+        assertPlain("0", new byte[] { (byte) 0x80 });
+        String[] values = {
+            "1", "-1", "100", "-100", "123", "-123", "1000000", "-1000000",
+            "0.5", "-0.5", "0.05", "-0.05", "0.001", "-0.0001", "0.000000000123",
+            "12.5", "-12.5", "10.1", "-10.01", "99.99", "-99.99", "1234567.891",
+            "12345678901234567890", "-12345678901234567890",
+            "1234567890.123456789", "-1234567890.123456789",
+            "0.12345678901234567891234567890123456789", "-0.12345678901234567891234567890123456789",
+            "1E+125", "-1E+125", "1E-130", "-1E-130"
+        };
+        for (String value : values) {
+            BigDecimal val = new BigDecimal(value);
+            assertPlain(val.stripTrailingZeros().toPlainString(), oracleNumber(val));
+        }
+    }
+
+    @Test
+    public void numberTextRandom() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            BigDecimal val = randomNumber(random);
+            assertPlain(val.signum() == 0 ? "0" : val.stripTrailingZeros().toPlainString(), oracleNumber(val));
+        }
+    }
+
+    @Test
+    public void negativeTerminator() {
+        // -1: exponent 62, digit 100, terminator 102
+        assertArrayEquals(new byte[] { 62, 100, 102 }, oracleNumber(BigDecimal.ONE.negate()));
+        assertPlain("-1", new byte[] { 62, 100, 102 });
+        // 20 digits of negative number: no terminator
+        BigDecimal val = new BigDecimal("-1234567890123456789012345678901234567891");
+        byte[] b = oracleNumber(val);
+        assertEquals(21, b.length);
+        assertPlain(val.toPlainString(), b);
+        assertNumeric(val, b);
+    }
+
+    @Test
+    public void numberTrailingZeroDigit() {
+        // last base 100 digit 10 of fraction: one trailing zero is not written
+        assertPlain("0.1", oracleNumber(new BigDecimal("0.1")));
+        assertPlain("-5.3", oracleNumber(new BigDecimal("-5.3")));
+        assertPlain("1.0203", oracleNumber(new BigDecimal("1.0203")));
+        // integer with zero digits
+        assertPlain("10000000000", oracleNumber(new BigDecimal("1E+10")));
+        assertPlain("-1010", oracleNumber(new BigDecimal("-1010")));
+    }
+
+    @Test
+    public void numberInfinity() {
+        assertPlain("-Infinity", new byte[] { 0 });
+        assertPlain("Infinity", new byte[] { (byte) 0xFF, 101 });
+        assertNumericSpecial(BinaryCopyEncoder.NUMERIC_NINF, new byte[] { 0 });
+        assertNumericSpecial(BinaryCopyEncoder.NUMERIC_PINF, new byte[] { (byte) 0xFF, 101 });
+    }
+
+    @Test
+    public void numberBinary() {
+        String[] values = {
+            "0", "1", "-1", "100", "-100", "10000", "-10000", "0.5", "-0.05", "0.001", "12.5", "-10.01",
+            "12345678901234567890", "-12345678901234567890", "0.12345678901234567891234567890123456789",
+            "1234567890.123456789", "-1234567890.123456789", "1E+125", "-1E-130"
+        };
+        for (String value : values) {
+            BigDecimal val = new BigDecimal(value);
+            assertNumeric(val, oracleNumber(val));
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 10000; i++) {
+            BigDecimal val = randomNumber(random);
+            assertNumeric(val, oracleNumber(val));
+        }
+    }
+
+    // =================== DATE and TIMESTAMP ====================
+
+    @Test
+    public void dateText() {
+        assertTimestamp("2026-10-26 11:42:17", LocalDateTime.of(2026, 10, 26, 11, 42, 17));
+        assertTimestamp("0001-01-01 00:00:00", LocalDateTime.of(1, 1, 1, 0, 0));
+        assertTimestamp("1500-01-01 00:00:00", LocalDateTime.of(1500, 1, 1, 0, 0));
+        assertTimestamp("9999-12-31 23:59:59", LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+        // BC: astronomical year 0 is 1 BC
+        assertTimestamp("0001-12-31 23:59:59 BC", LocalDateTime.of(0, 12, 31, 23, 59, 59));
+        assertTimestamp("0044-03-15 12:00:00 BC", LocalDateTime.of(-43, 3, 15, 12, 0));
+        assertTimestamp("4712-01-01 00:00:00 BC", LocalDateTime.of(-4711, 1, 1, 0, 0));
+    }
+
+    @Test
+    public void timestampText() {
+        assertTimestamp("2026-10-26 11:42:17.500000", LocalDateTime.of(2026, 10, 26, 11, 42, 17, 500000000));
+        assertTimestamp("2026-10-26 11:42:17.000001", LocalDateTime.of(2026, 10, 26, 11, 42, 17, 1000));
+        assertTimestamp("0001-01-01 00:00:00.123456", LocalDateTime.of(1, 1, 1, 0, 0, 0, 123456789));
+        // microseconds, nanoseconds below microsecond are not written
+        assertTimestamp("2026-10-26 11:42:17", LocalDateTime.of(2026, 10, 26, 11, 42, 17, 999));
+    }
+
+    @Test
+    public void timestampMicros() {
+        LocalDateTime[] values = {
+            PG_EPOCH, LocalDateTime.of(1970, 1, 1, 0, 0), LocalDateTime.of(2026, 10, 26, 11, 42, 17, 123456000),
+            LocalDateTime.of(1, 1, 1, 0, 0), LocalDateTime.of(1500, 1, 1, 0, 0), LocalDateTime.of(1582, 10, 10, 0, 0),
+            LocalDateTime.of(0, 12, 31, 23, 59, 59), LocalDateTime.of(-4711, 1, 1, 0, 0),
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999999000)
+        };
+        for (LocalDateTime val : values) {
+            assertEquals(val.toString(), ChronoUnit.MICROS.between(PG_EPOCH, val),
+                    OracleCodecs.timestampMicros(oracleTimestamp(val)));
+        }
+        Random random = new Random(11);
+        for (int i = 0; i < 10000; i++) {
+            LocalDateTime val = randomTimestamp(random);
+            LocalDateTime micros = val.withNano(val.getNano() / 1000 * 1000);
+            assertEquals(val.toString(), ChronoUnit.MICROS.between(PG_EPOCH, micros),
+                    OracleCodecs.timestampMicros(oracleTimestamp(val)));
+            assertEquals(val.withNano(0), OracleCodecs.toLocalDateTime(oracleDate(val)));
+        }
+    }
+
+    @Test
+    public void timestampTextRandom() {
+        Random random = new Random(13);
+        for (int i = 0; i < 10000; i++) {
+            LocalDateTime val = randomTimestamp(random);
+            StringBuilder sb = new StringBuilder();
+            OracleCodecs.appendTimestamp(oracleTimestamp(val), sb);
+            assertEquals(val.withNano(val.getNano() / 1000 * 1000), parseTimestamp(sb.toString()));
+        }
+    }
+
+    // =================== Helpers ====================
+
+    private static void assertPlain(String expected, byte[] b) {
+        StringBuilder sb = new StringBuilder();
+        OracleCodecs.appendPlain(b, sb);
+        assertEquals(expected, sb.toString());
+    }
+
+    // binary numeric of raw NUMBER is the same as of BigDecimal with minimal scale
+    private static void assertNumeric(BigDecimal val, byte[] b) {
+        BigDecimal stripped = val.signum() == 0 ? BigDecimal.ZERO : val.stripTrailingZeros();
+        if (stripped.scale() < 0) stripped = stripped.setScale(0);
+        byte[] raw = numeric(b);
+        assertArrayEquals(val.toPlainString(), numeric(stripped), raw);
+        assertEquals(0, val.compareTo(decodeNumeric(raw)));
+    }
+
+    private static void assertNumericSpecial(int sign, byte[] b) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(numeric(b)))) {
+            assertEquals(8, in.readInt());
+            assertEquals(0, in.readShort());
+            assertEquals(0, in.readShort());
+            assertEquals(sign, in.readShort() & 0xFFFF);
+            assertEquals(0, in.readShort());
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    private static byte[] numeric(byte[] b) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            OracleCodecs.writeNumeric(b, new short[12], out);
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] numeric(BigDecimal val) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            BinaryCopyEncoder.writeNumeric(val, out);
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    // value of binary numeric: base 10000 digits from weight
+    private static BigDecimal decodeNumeric(byte[] b) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(b))) {
+            in.readInt();
+            int ndigits = in.readShort();
+            int weight = in.readShort();
+            int sign = in.readShort() & 0xFFFF;
+            in.readShort();
+            BigDecimal val = BigDecimal.ZERO;
+            for (int i = 0; i < ndigits; i++) {
+                val = val.add(BigDecimal.valueOf(in.readShort()).scaleByPowerOfTen(4 * (weight - i)));
+            }
+            return sign == BinaryCopyEncoder.NUMERIC_NEG ? val.negate() : val;
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    private static void assertTimestamp(String expected, LocalDateTime val) {
+        StringBuilder sb = new StringBuilder();
+        OracleCodecs.appendTimestamp(val.getNano() == 0 ? oracleDate(val) : oracleTimestamp(val), sb);
+        assertEquals(expected, sb.toString());
+    }
+
+    private static LocalDateTime parseTimestamp(String text) {
+        boolean bc = text.endsWith(" BC");
+        String[] f = (bc ? text.substring(0, text.length() - 3) : text).split("[- :.]");
+        int year = Integer.parseInt(f[0]);
+        int nanos = f.length > 6 ? Integer.parseInt(f[6]) * 1000 : 0;
+        return LocalDateTime.of(bc ? 1 - year : year, Integer.parseInt(f[1]), Integer.parseInt(f[2]),
+                Integer.parseInt(f[3]), Integer.parseInt(f[4]), Integer.parseInt(f[5]), nanos);
+    }
+
+    // number of 1 to 40 decimal digits with scale -130..130 or zero
+    private static BigDecimal randomNumber(Random random) {
+        if (random.nextInt(100) == 0) return BigDecimal.ZERO;
+        StringBuilder digits = new StringBuilder();
+        int n = 1 + random.nextInt(38);
+        digits.append(1 + random.nextInt(9));
+        for (int i = 1; i < n; i++) digits.append(random.nextInt(10));
+        BigInteger unscaled = new BigInteger(digits.toString());
+        if (random.nextBoolean()) unscaled = unscaled.negate();
+        int scale = random.nextInt(3) == 0 ? random.nextInt(261) - 130 : random.nextInt(20) - 5;
+        BigDecimal val = new BigDecimal(unscaled, scale);
+        // Oracle NUMBER: exponent -130..125
+        int exponent = val.precision() - val.scale() - 1;
+        return exponent >= -130 && exponent < 126 ? val : val.scaleByPowerOfTen(-exponent);
+    }
+
+    private static LocalDateTime randomTimestamp(Random random) {
+        return LocalDateTime.of(random.nextInt(14711) - 4711, 1 + random.nextInt(12), 1 + random.nextInt(28),
+                random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1000000000));
+    }
+
+    /**
+     * Oracle NUMBER: exponent byte and base 100 digits
+     * (negative: complement, terminator 102 when less than 20 digits)
+     */
+    static byte[] oracleNumber(BigDecimal val) {
+        if (val.signum() == 0) return new byte[] { (byte) 0x80 };
+        String str = val.abs().stripTrailingZeros().toPlainString();
+        int point = str.indexOf('.');
+        String intPart = point < 0 ? str : str.substring(0, point);
+        String fracPart = point < 0 ? "" : str.substring(point + 1);
+        if (intPart.equals("0")) intPart = "";
+        if (intPart.length() % 2 == 1) intPart = "0" + intPart;
+        if (fracPart.length() % 2 == 1) fracPart = fracPart + "0";
+        String digits = intPart + fracPart;
+        int power = intPart.length() / 2 - 1;
+        int first = 0;
+        while (digits.startsWith("00", first)) {
+            first += 2;
+            power--;
+        }
+        int last = digits.length();
+        while (last > first && digits.startsWith("00", last - 2)) last -= 2;
+        boolean negative = val.signum() < 0;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(negative ? 62 - power : power + 193);
+        for (int i = first; i < last; i += 2) {
+            int d = Integer.parseInt(digits.substring(i, i + 2));
+            bytes.write(negative ? 101 - d : d + 1);
+        }
+        if (negative && (last - first) / 2 < 20) bytes.write(102);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Oracle DATE: century and year (excess 100, negative - BC), month, day,
+     * hour, minute, second (excess 1)
+     */
+    static byte[] oracleDate(LocalDateTime val) {
+        int year = val.getYear() > 0 ? val.getYear() : val.getYear() - 1; // no year 0 in Oracle
+        return new byte[] {
+            (byte) (year / 100 + 100), (byte) (year % 100 + 100),
+            (byte) val.getMonthValue(), (byte) val.getDayOfMonth(),
+            (byte) (val.getHour() + 1), (byte) (val.getMinute() + 1), (byte) (val.getSecond() + 1)
+        };
+    }
+
+    /**
+     * Oracle TIMESTAMP: DATE and nanoseconds (big-endian)
+     */
+    static byte[] oracleTimestamp(LocalDateTime val) {
+        byte[] b = new byte[11];
+        System.arraycopy(oracleDate(val), 0, b, 0, 7);
+        int nanos = val.getNano();
+        b[7] = (byte) (nanos >>> 24);
+        b[8] = (byte) (nanos >>> 16);
+        b[9] = (byte) (nanos >>> 8);
+        b[10] = (byte) nanos;
+        return b;
+    }
+}